@@ -0,0 +1,111 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.benchmark;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.bernardomg.example.netty.tcp.server.BufferTransactionListener;
+import com.bernardomg.example.netty.tcp.server.TransactionListener;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Transaction listener which only counts the requests. Allows waiting until the server has received them.
+ * <p>
+ * It also listens to buffers, counting them without decoding, so the buffer handlers keep their zero copy path.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class CountingTransactionListener implements TransactionListener, BufferTransactionListener {
+
+    /**
+     * Requests received.
+     */
+    private final AtomicLong requests = new AtomicLong();
+
+    /**
+     * Default constructor.
+     */
+    public CountingTransactionListener() {
+        super();
+    }
+
+    /**
+     * Waits until the server has received, at least, the given number of requests. Fails if they are not received
+     * before the timeout, so a lost request doesn't hang the benchmark.
+     *
+     * @param count
+     *            number of requests to wait for
+     * @param timeout
+     *            maximum time to wait
+     * @throws IllegalStateException
+     *             if the requests are not received before the timeout
+     */
+    public final void awaitRequests(final long count, final Duration timeout) {
+        final long deadline;
+
+        deadline = System.nanoTime() + timeout.toNanos();
+        while (requests.get() < count) {
+            if ((System.nanoTime() - deadline) > 0) {
+                throw new IllegalStateException(
+                    String.format("Received %d of %d requests before the timeout", requests.get(), count));
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public final void onRequest(final ByteBuf message) {
+        requests.incrementAndGet();
+    }
+
+    @Override
+    public final void onRequest(final String message) {
+        requests.incrementAndGet();
+    }
+
+    @Override
+    public final void onResponse(final ByteBuf message) {
+        // Not counted
+    }
+
+    @Override
+    public final void onResponse(final String message) {
+        // Not counted
+    }
+
+    @Override
+    public final void onStart() {
+        // Nothing to do
+    }
+
+    @Override
+    public final void onStop() {
+        // Nothing to do
+    }
+
+}
@@ -0,0 +1,190 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bernardomg.example.netty.tcp.server.BufferListenAndAnswerIoHandler;
+import com.bernardomg.example.netty.tcp.server.IoHandler;
+import com.bernardomg.example.netty.tcp.server.ListenAndAnswerIoHandler;
+import com.bernardomg.example.netty.tcp.server.ReactorNettyTcpServer;
+import com.bernardomg.example.netty.tcp.server.Server;
+import com.bernardomg.example.netty.tcp.server.framing.LineFraming;
+
+/**
+ * Benchmarks the answering handlers. Each operation sends a pipeline of requests through every connection, and waits
+ * for all the responses.
+ * <p>
+ * The messages counter gives the message rate, and the sample time mode the latency percentiles for each pipeline.
+ * The default parameters cover each message size, but only the extremes for connections and depth. The benchmarks-full
+ * profile runs every combination.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ListenAndAnswerIoHandlerBenchmark {
+
+    /**
+     * Response sent by the server.
+     */
+    private static final String RESPONSE = "ACK";
+
+    /**
+     * Client sending the requests.
+     */
+    private LoopbackClient      client;
+
+    /**
+     * Number of connections.
+     */
+    @Param({ "1", "32" })
+    private int                 connections;
+
+    /**
+     * Requests sent through each connection before reading the responses.
+     */
+    @Param({ "1", "128" })
+    private int                 depth;
+
+    /**
+     * Size of each request, without the line break.
+     */
+    @Param({ "16", "256", "4096" })
+    private int                 messageSize;
+
+    /**
+     * Requests sent through each connection on each operation.
+     */
+    private byte[]              pipeline;
+
+    /**
+     * Bytes received through each connection on each operation.
+     */
+    private int                 responseBytes;
+
+    /**
+     * Server being benchmarked.
+     */
+    private Server              server;
+
+    /**
+     * Zero copy flag. Selects the buffer handler.
+     */
+    @Param({ "false", "true" })
+    private boolean             zeroCopy;
+
+    /**
+     * Default constructor.
+     */
+    public ListenAndAnswerIoHandlerBenchmark() {
+        super();
+    }
+
+    /**
+     * Sends a pipeline of requests through each connection, and reads all the responses.
+     *
+     * @param counters
+     *            message counters
+     * @throws IOException
+     *             if a connection fails
+     */
+    @Benchmark
+    public final void pipeline(final MessageCounters counters) throws IOException {
+        client.send(pipeline);
+        client.receive(responseBytes);
+        counters.messages += (long) depth * connections;
+    }
+
+    /**
+     * Starts the server and opens the connections.
+     *
+     * @throws IOException
+     *             if a connection can't be opened
+     */
+    @Setup(Level.Trial)
+    public final void setUp() throws IOException {
+        final CountingTransactionListener listener;
+        final IoHandler                   handler;
+        final int                         port;
+        final byte[]                      request;
+
+        port = LoopbackClient.freePort();
+        listener = new CountingTransactionListener();
+        if (zeroCopy) {
+            handler = new BufferListenAndAnswerIoHandler(RESPONSE, listener);
+        } else {
+            handler = new ListenAndAnswerIoHandler(RESPONSE, listener);
+        }
+        server = new ReactorNettyTcpServer(port, listener, handler, new LineFraming(messageSize + 1), false);
+        server.start();
+
+        request = new byte[messageSize + 1];
+        Arrays.fill(request, (byte) 'a');
+        request[messageSize] = '\n';
+        pipeline = new byte[request.length * depth];
+        for (int i = 0; i < depth; i++) {
+            System.arraycopy(request, 0, pipeline, i * request.length, request.length);
+        }
+        responseBytes = (RESPONSE.getBytes(Charset.defaultCharset()).length + 1) * depth;
+
+        client = new LoopbackClient(port, connections);
+    }
+
+    /**
+     * Closes the connections and stops the server.
+     *
+     * @throws IOException
+     *             if a connection can't be closed
+     */
+    @TearDown(Level.Trial)
+    public final void tearDown() throws IOException {
+        client.close();
+        server.stop();
+    }
+
+}
@@ -0,0 +1,143 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Blocking client, opening a number of connections to a local server. Writes and reads go through all the
+ * connections, one after the other.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class LoopbackClient implements AutoCloseable {
+
+    /**
+     * Milliseconds a read waits for data before failing, so a lost response doesn't hang the benchmark.
+     */
+    private static final int READ_TIMEOUT = 10_000;
+
+    /**
+     * Finds a free local port.
+     *
+     * @return a free port
+     * @throws IOException
+     *             if no port can be opened
+     */
+    public static final int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Buffer for reading responses.
+     */
+    private final byte[]       readBuffer = new byte[64 * 1024];
+
+    /**
+     * Open connections.
+     */
+    private final List<Socket> sockets = new ArrayList<>();
+
+    /**
+     * Opens the connections to the local server.
+     *
+     * @param port
+     *            server port
+     * @param connections
+     *            number of connections to open
+     * @throws IOException
+     *             if a connection can't be opened
+     */
+    public LoopbackClient(final int port, final int connections) throws IOException {
+        super();
+
+        Socket socket;
+
+        for (int i = 0; i < connections; i++) {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            socket.setTcpNoDelay(true);
+            socket.setSoTimeout(READ_TIMEOUT);
+            sockets.add(socket);
+        }
+    }
+
+    @Override
+    public final void close() throws IOException {
+        for (final Socket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    /**
+     * Reads the given number of bytes from each connection, and discards them.
+     *
+     * @param bytes
+     *            bytes to read from each connection
+     * @throws IOException
+     *             if a connection fails or is closed, or if the data is not received in time
+     */
+    public final void receive(final int bytes) throws IOException {
+        InputStream input;
+        int         remaining;
+        int         read;
+
+        for (final Socket socket : sockets) {
+            input = socket.getInputStream();
+            remaining = bytes;
+            while (remaining > 0) {
+                read = input.read(readBuffer, 0, Math.min(remaining, readBuffer.length));
+                if (read < 0) {
+                    throw new IOException("Connection closed by the server");
+                }
+                remaining -= read;
+            }
+        }
+    }
+
+    /**
+     * Writes the data into each connection.
+     *
+     * @param data
+     *            data to write
+     * @throws IOException
+     *             if a connection fails
+     */
+    public final void send(final byte[] data) throws IOException {
+        for (final Socket socket : sockets) {
+            socket.getOutputStream()
+                .write(data);
+        }
+    }
+
+}
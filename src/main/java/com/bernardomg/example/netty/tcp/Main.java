@@ -31,7 +31,8 @@
 public class Main {
 
     public static void main(final String[] args) {
-        new CommandLine(new TcpServerMenu()).execute(args);
+        new CommandLine(new TcpServerMenu()).setCaseInsensitiveEnumValuesAllowed(true)
+            .execute(args);
     }
 
     public Main() {
@@ -0,0 +1,123 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import lombok.extern.slf4j.Slf4j;
+import picocli.CommandLine.IDefaultValueProvider;
+import picocli.CommandLine.Model.ArgSpec;
+import picocli.CommandLine.Model.OptionSpec;
+
+/**
+ * Default values provider which reads them from the properties file set in the {@code --config} option. Each key is the
+ * long name of an option, without the dashes. For example:
+ *
+ * <pre>
+ * port=8080
+ * response=Acknowledged
+ * backlog=1024
+ * </pre>
+ * <p>
+ * Options received through the command line take precedence over the file. Options missing in both of them take the
+ * default value from their annotation.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class ConfigFileDefaultProvider implements IDefaultValueProvider {
+
+    /**
+     * Name of the option containing the config file path.
+     */
+    private static final String CONFIG_OPTION = "--config";
+
+    /**
+     * Properties read from the config file. Loaded the first time a value is requested.
+     */
+    private Properties          properties;
+
+    /**
+     * Default constructor.
+     */
+    public ConfigFileDefaultProvider() {
+        super();
+    }
+
+    @Override
+    public final String defaultValue(final ArgSpec argSpec) throws IOException {
+        final OptionSpec option;
+        final OptionSpec configOption;
+        final Path       config;
+        final String     value;
+
+        configOption = argSpec.command()
+            .findOption(CONFIG_OPTION);
+        if ((!argSpec.isOption()) || (configOption == null) || (configOption.getValue() == null)) {
+            // No config file
+            value = null;
+        } else {
+            option = (OptionSpec) argSpec;
+            config = configOption.getValue();
+            if (properties == null) {
+                properties = read(config);
+            }
+            value = properties.getProperty(option.longestName()
+                .replaceFirst("^-+", ""));
+        }
+
+        return value;
+    }
+
+    /**
+     * Reads the properties from the config file.
+     *
+     * @param config
+     *            path to the config file
+     * @return the properties in the file
+     */
+    static final Properties read(final Path config) {
+        final Properties loaded;
+
+        log.debug("Reading config file {}", config);
+
+        loaded = new Properties();
+        try (Reader reader = Files.newBufferedReader(config, StandardCharsets.UTF_8)) {
+            loaded.load(reader);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return loaded;
+    }
+
+}
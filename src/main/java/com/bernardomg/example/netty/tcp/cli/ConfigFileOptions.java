@@ -0,0 +1,149 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Properties;
+
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Model.OptionSpec;
+import picocli.CommandLine.ParseResult;
+
+/**
+ * Option values for a command after reading its config file again. Keeps the same precedence as when parsing the
+ * command: options received through the command line take precedence over the file, and options missing in both of
+ * them take the default value from their annotation.
+ * <p>
+ * Only simple option types are supported: strings, paths, numbers, flags and enums.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class ConfigFileOptions {
+
+    /**
+     * Result of parsing the command line.
+     */
+    private final ParseResult parsed;
+
+    /**
+     * Properties read from the config file.
+     */
+    private final Properties  properties;
+
+    /**
+     * Command specification.
+     */
+    private final CommandSpec spec;
+
+    /**
+     * Reads the config file for the command.
+     *
+     * @param spc
+     *            command specification, already parsed
+     * @param config
+     *            path to the config file
+     */
+    public ConfigFileOptions(final CommandSpec spc, final Path config) {
+        super();
+
+        spec = Objects.requireNonNull(spc);
+        parsed = spec.commandLine()
+            .getParseResult();
+        properties = ConfigFileDefaultProvider.read(config);
+    }
+
+    /**
+     * Returns the value for the option.
+     *
+     * @param <T>
+     *            type of the value
+     * @param name
+     *            option name, including the dashes
+     * @return the value for the option
+     */
+    @SuppressWarnings("unchecked")
+    public final <T> T getValue(final String name) {
+        final OptionSpec option;
+        final String     value;
+        final T          result;
+
+        option = spec.findOption(name);
+        if (option == null) {
+            throw new IllegalArgumentException("Unknown option " + name);
+        }
+
+        if (parsed.hasMatchedOption(option)) {
+            // The command line takes precedence
+            result = option.getValue();
+        } else {
+            value = properties.getProperty(option.longestName()
+                .replaceFirst("^-+", ""), option.defaultValue());
+            result = (T) convert(option, value);
+        }
+
+        return result;
+    }
+
+    /**
+     * Converts the text value into the option type.
+     *
+     * @param option
+     *            option to convert the value for
+     * @param value
+     *            text value, may be {@code null}
+     * @return the converted value
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private final Object convert(final OptionSpec option, final String value) {
+        final Class<?> type;
+        final Object   result;
+
+        type = option.type();
+        if (value == null) {
+            result = null;
+        } else if (String.class.equals(type)) {
+            result = value;
+        } else if (Path.class.equals(type)) {
+            result = Path.of(value.trim());
+        } else if (long.class.equals(type) || Long.class.equals(type)) {
+            result = Long.parseLong(value.trim());
+        } else if (int.class.equals(type) || Integer.class.equals(type)) {
+            result = Integer.parseInt(value.trim());
+        } else if (boolean.class.equals(type) || Boolean.class.equals(type)) {
+            result = Boolean.parseBoolean(value.trim());
+        } else if (type.isEnum()) {
+            result = Enum.valueOf((Class<Enum>) type, value.trim()
+                .toUpperCase(Locale.ROOT));
+        } else {
+            throw new IllegalArgumentException("Can't read option " + option.longestName() + " of type " + type);
+        }
+
+        return result;
+    }
+
+}
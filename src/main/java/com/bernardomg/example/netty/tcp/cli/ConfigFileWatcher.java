@@ -0,0 +1,183 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Watches a file, and runs an action each time it changes. Uses a watch service on the file folder, consumed by a
+ * daemon thread.
+ * <p>
+ * Editors usually save a file through several events, so after a change the watcher waits a bit, and runs the action
+ * once for all the events received meanwhile.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class ConfigFileWatcher {
+
+    /**
+     * Milliseconds to wait for more events after a change, before running the action.
+     */
+    private static final long  SETTLE_TIME = 200;
+
+    /**
+     * Action to run when the file changes.
+     */
+    private final Runnable     action;
+
+    /**
+     * Watched file.
+     */
+    private final Path         file;
+
+    /**
+     * Watch service for the file folder.
+     */
+    private WatchService       watchService;
+
+    /**
+     * Constructs a watcher for the given file.
+     *
+     * @param fl
+     *            file to watch
+     * @param actn
+     *            action to run when the file changes
+     */
+    public ConfigFileWatcher(final Path fl, final Runnable actn) {
+        super();
+
+        file = Objects.requireNonNull(fl)
+            .toAbsolutePath();
+        action = Objects.requireNonNull(actn);
+    }
+
+    /**
+     * Starts watching the file.
+     */
+    public final void start() {
+        final Thread thread;
+
+        try {
+            watchService = file.getFileSystem()
+                .newWatchService();
+            // Files are watched through their folder
+            file.getParent()
+                .register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        thread = new Thread(this::watch, "config-watcher");
+        thread.setDaemon(true);
+        thread.start();
+
+        log.debug("Watching {}", file);
+    }
+
+    /**
+     * Stops watching the file.
+     */
+    public final void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Consumes the events for the key, and returns if any of them is about the watched file.
+     *
+     * @param key
+     *            key with the events
+     * @return {@code true} if the watched file changed, {@code false} otherwise
+     */
+    private final boolean consume(final WatchKey key) {
+        boolean changed;
+
+        changed = false;
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            // Overflows may hide changes to the file
+            changed = changed || (event.kind() == StandardWatchEventKinds.OVERFLOW)
+                    || file.getFileName()
+                        .equals(event.context());
+        }
+        key.reset();
+
+        return changed;
+    }
+
+    /**
+     * Waits for changes to the file, and runs the action for them, until the watch service is closed.
+     */
+    private final void watch() {
+        WatchKey key;
+        boolean  changed;
+
+        try {
+            while (true) {
+                changed = consume(watchService.take());
+                if (changed) {
+                    // Joins the events coming right after
+                    TimeUnit.MILLISECONDS.sleep(SETTLE_TIME);
+                    key = watchService.poll();
+                    while (key != null) {
+                        consume(key);
+                        key = watchService.poll();
+                    }
+
+                    log.debug("Changed {}", file);
+                    try {
+                        action.run();
+                    } catch (final RuntimeException e) {
+                        // Keeps watching, the file may be fixed later
+                        log.error("Failed handling change to {}", file, e);
+                    }
+                }
+            }
+        } catch (final ClosedWatchServiceException e) {
+            log.debug("Stopped watching {}", file);
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+        }
+    }
+
+}
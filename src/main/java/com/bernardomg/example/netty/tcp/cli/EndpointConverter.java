@@ -0,0 +1,93 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli;
+
+import java.util.Locale;
+
+import picocli.CommandLine.ITypeConverter;
+
+/**
+ * Reads endpoints from the command line. They are written as {@code port:type[:argument]}, where the argument is
+ * required by answers and routes, and optional for echoes, which take the transform. For example:
+ *
+ * <pre>
+ * 8081:sink
+ * 8082:answer:Acknowledged
+ * 8083:routes:routes.tsv
+ * 8084:echo:uppercase
+ * </pre>
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class EndpointConverter implements ITypeConverter<Endpoint> {
+
+    /**
+     * Separator between the endpoint parts.
+     */
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Default constructor.
+     */
+    public EndpointConverter() {
+        super();
+    }
+
+    @Override
+    public final Endpoint convert(final String value) {
+        final String[]     parts;
+        final int          port;
+        final EndpointType type;
+        final String       argument;
+
+        // The argument is kept whole, even if it contains separators
+        parts = value.split(SEPARATOR, 3);
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Endpoint should be port:type[:argument], received " + value);
+        }
+
+        port = Integer.parseInt(parts[0].trim());
+        if (port <= 0) {
+            throw new IllegalArgumentException("Endpoint port should be positive, received " + port);
+        }
+        type = EndpointType.valueOf(parts[1].trim()
+            .toUpperCase(Locale.ROOT));
+        if (parts.length > 2) {
+            argument = parts[2];
+        } else if ((type == EndpointType.SINK) || (type == EndpointType.ECHO)) {
+            argument = null;
+        } else {
+            throw new IllegalArgumentException("Endpoint " + type + " requires an argument, received " + value);
+        }
+
+        return Endpoint.builder()
+            .port(port)
+            .type(type)
+            .argument(argument)
+            .build();
+    }
+
+}
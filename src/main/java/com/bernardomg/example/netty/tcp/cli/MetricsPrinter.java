@@ -0,0 +1,204 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli;
+
+import java.io.PrintWriter;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.bernardomg.example.netty.tcp.server.metrics.AllocatorSnapshot;
+import com.bernardomg.example.netty.tcp.server.metrics.CacheSnapshot;
+import com.bernardomg.example.netty.tcp.server.metrics.LatencySnapshot;
+import com.bernardomg.example.netty.tcp.server.metrics.MetricsSnapshot;
+import com.bernardomg.example.netty.tcp.server.metrics.ServerMetrics;
+
+/**
+ * Prints the server metrics periodically into a {@link PrintWriter}. Rates are calculated from the previous print.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class MetricsPrinter {
+
+    /**
+     * Nanoseconds in a microsecond.
+     */
+    private static final double      NANOS_TO_MICROS = 1_000D;
+
+    /**
+     * Nanoseconds in a second.
+     */
+    private static final double      NANOS_TO_SECONDS = 1_000_000_000D;
+
+    /**
+     * Executor running the prints.
+     */
+    private ScheduledExecutorService executor;
+
+    /**
+     * Seconds between prints.
+     */
+    private final long               interval;
+
+    /**
+     * Metrics to print.
+     */
+    private final ServerMetrics      metrics;
+
+    /**
+     * Metrics in the previous print.
+     */
+    private MetricsSnapshot          previous;
+
+    /**
+     * Print writer, where the metrics will be sent.
+     */
+    private final PrintWriter        writer;
+
+    /**
+     * Constructs a printer for the received metrics.
+     *
+     * @param mtrcs
+     *            metrics to print
+     * @param wrt
+     *            print writer where the metrics are sent
+     * @param intrvl
+     *            seconds between prints
+     */
+    public MetricsPrinter(final ServerMetrics mtrcs, final PrintWriter wrt, final long intrvl) {
+        super();
+
+        if (intrvl <= 0) {
+            throw new IllegalArgumentException("Interval should be positive, received " + intrvl);
+        }
+
+        metrics = Objects.requireNonNull(mtrcs);
+        writer = Objects.requireNonNull(wrt);
+        interval = intrvl;
+    }
+
+    /**
+     * Starts printing.
+     */
+    public final void start() {
+        previous = metrics.snapshot();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread;
+
+            thread = new Thread(runnable, "metrics-printer");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::print, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops printing.
+     */
+    public final void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Prints the current metrics. The report is built first and printed in a single call, so it doesn't interleave with
+     * other output sent to the same writer.
+     */
+    private final void print() {
+        final MetricsSnapshot   current;
+        final LatencySnapshot   latency;
+        final AllocatorSnapshot allocator;
+        final CacheSnapshot     cache;
+        final LatencySnapshot   handshakeLatency;
+        final double            elapsed;
+        final StringBuilder     report;
+        final String            lineSeparator;
+
+        current = metrics.snapshot();
+        latency = current.getLatency();
+        allocator = current.getAllocator();
+        cache = current.getCache();
+        elapsed = (current.getTimestamp() - previous.getTimestamp()) / NANOS_TO_SECONDS;
+        report = new StringBuilder();
+        lineSeparator = System.lineSeparator();
+
+        report.append(String.format("Connections: %d active, %d total, %d throttled, %d rejected, %d idle closed",
+            current.getActiveConnections(), current.getTotalConnections(), current.getThrottledConnections(),
+            current.getRejectedConnections(), current.getIdleClosures()))
+            .append(lineSeparator);
+        report.append(String.format("Requests: %d (%.1f/s) | Responses: %d (%.1f/s)", current.getRequests(),
+            (current.getRequests() - previous.getRequests()) / elapsed, current.getResponses(),
+            (current.getResponses() - previous.getResponses()) / elapsed))
+            .append(lineSeparator);
+        report.append(String.format("Traffic: in %d bytes (%.1f B/s) | out %d bytes (%.1f B/s) | pending %d bytes",
+            current.getBytesIn(), (current.getBytesIn() - previous.getBytesIn()) / elapsed, current.getBytesOut(),
+            (current.getBytesOut() - previous.getBytesOut()) / elapsed, current.getPendingBytes()))
+            .append(lineSeparator);
+        report.append(String.format("Latency (us): p50 %.1f | p90 %.1f | p99 %.1f | p99.9 %.1f | max %.1f",
+            latency.getP50() / NANOS_TO_MICROS, latency.getP90() / NANOS_TO_MICROS,
+            latency.getP99() / NANOS_TO_MICROS, latency.getP999() / NANOS_TO_MICROS,
+            latency.getMax() / NANOS_TO_MICROS))
+            .append(lineSeparator);
+        report.append(String.format("Memory: direct %d bytes | heap %d bytes", allocator.getUsedDirectMemory(),
+            allocator.getUsedHeapMemory()));
+        if (allocator.isPooled()) {
+            report.append(String.format(" | %d direct arenas, %d heap arenas, %d thread caches | arena allocations %d",
+                allocator.getDirectArenas(), allocator.getHeapArenas(), allocator.getThreadLocalCaches(),
+                allocator.getArenaAllocations()));
+        }
+        report.append(lineSeparator);
+        if ((current.getRateLimitPauses() + current.getDroppedMessages()) > 0) {
+            // Only with rate limits
+            report.append(String.format("Rate limit: %d pauses | %d messages dropped, %d bytes dropped",
+                current.getRateLimitPauses(), current.getDroppedMessages(), current.getDroppedBytes()))
+                .append(lineSeparator);
+        }
+        if ((current.getHandshakes() + current.getHandshakeFailures()) > 0) {
+            // Only with TLS
+            handshakeLatency = current.getHandshakeLatency();
+            report.append(String.format(
+                "TLS: %d handshakes (%.1f/s), %d resumed, %d failed | p50 %.1f us | p99 %.1f us",
+                current.getHandshakes(), (current.getHandshakes() - previous.getHandshakes()) / elapsed,
+                current.getResumedHandshakes(), current.getHandshakeFailures(),
+                handshakeLatency.getP50() / NANOS_TO_MICROS, handshakeLatency.getP99() / NANOS_TO_MICROS))
+                .append(lineSeparator);
+        }
+        if (cache != null) {
+            report.append(String.format("Cache: %d entries, %d bytes | %d hits, %d misses, %d evictions",
+                cache.getEntries(), cache.getMemory(), cache.getHits(), cache.getMisses(), cache.getEvictions()))
+                .append(lineSeparator);
+        }
+
+        writer.print(report);
+        writer.flush();
+
+        previous = current;
+    }
+
+}
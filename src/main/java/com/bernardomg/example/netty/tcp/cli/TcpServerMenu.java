@@ -24,6 +24,8 @@
 
 package com.bernardomg.example.netty.tcp.cli;
 
+import com.bernardomg.example.netty.tcp.cli.command.LoadCommand;
+import com.bernardomg.example.netty.tcp.cli.command.ReplayCommand;
 import com.bernardomg.example.netty.tcp.cli.command.StartServerCommand;
 import com.bernardomg.example.netty.tcp.cli.version.ManifestVersionProvider;
 
@@ -35,7 +37,8 @@
  * @author Bernardo Mart&iacute;nez Garrido
  *
  */
-@Command(description = "Reactor TCP server", subcommands = { StartServerCommand.class },
+@Command(description = "Reactor TCP server",
+        subcommands = { StartServerCommand.class, ReplayCommand.class, LoadCommand.class },
         mixinStandardHelpOptions = true, versionProvider = ManifestVersionProvider.class)
 public class TcpServerMenu {
 
@@ -26,8 +26,10 @@
 
 import java.io.PrintWriter;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import com.bernardomg.example.netty.tcp.server.TransactionListener;
+import com.bernardomg.example.netty.tcp.server.metrics.ConnectionSnapshot;
 
 /**
  * Transaction listener which will write the context of each step into a {@link PrintWriter}.
@@ -54,6 +56,20 @@ public TransactionPrinterListener(final Integer prt, final PrintWriter wrt) {
         writer = Objects.requireNonNull(wrt);
     }
 
+    @Override
+    public final void onConnect(final ConnectionSnapshot connection) {
+        // Printed in a single call, as connections from other event loops may print at the same time
+        writer.println(String.format("Client %s connected from %s", connection.getId(), connection.getRemoteAddress()));
+    }
+
+    @Override
+    public final void onDisconnect(final ConnectionSnapshot connection) {
+        writer.println(String.format(
+            "Client %s disconnected after %d ms | Requests: %d | Responses: %d | Traffic: in %d bytes, out %d bytes",
+            connection.getId(), TimeUnit.NANOSECONDS.toMillis(connection.getDuration()), connection.getRequests(),
+            connection.getResponses(), connection.getBytesIn(), connection.getBytesOut()));
+    }
+
     @Override
     public final void onRequest(final String message) {
         printHorizontalLine("RECEIVED REQUEST - START");
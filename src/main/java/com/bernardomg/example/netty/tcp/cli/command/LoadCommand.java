@@ -0,0 +1,236 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.command;
+
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import com.bernardomg.example.netty.tcp.cli.version.ManifestVersionProvider;
+import com.bernardomg.example.netty.tcp.client.LoadGenerator;
+import com.bernardomg.example.netty.tcp.client.LoadOptions;
+import com.bernardomg.example.netty.tcp.client.LoadResult;
+import com.bernardomg.example.netty.tcp.server.metrics.LatencySnapshot;
+import com.bernardomg.example.netty.tcp.server.transport.Transport;
+import com.bernardomg.example.netty.tcp.server.transport.TransportLoopResources;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Spec;
+
+/**
+ * Generate load. Sends messages to a server through several connections, and reports the throughput and latency.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Command(name = "load", description = "Sends load to a TCP server, and reports throughput and latency",
+        mixinStandardHelpOptions = true, versionProvider = ManifestVersionProvider.class)
+public final class LoadCommand implements Runnable {
+
+    /**
+     * Nanoseconds in a microsecond.
+     */
+    private static final double NANOS_TO_MICROS = 1_000D;
+
+    /**
+     * Nanoseconds in a second.
+     */
+    private static final double NANOS_TO_SECONDS = 1_000_000_000D;
+
+    /**
+     * Number of connections.
+     */
+    @Option(names = { "-c", "--connections" }, paramLabel = "connections", description = "Connections to open.",
+            defaultValue = "1", showDefaultValue = Help.Visibility.ALWAYS)
+    private int                 connections;
+
+    /**
+     * Debug flag. Shows debug logs.
+     */
+    @Option(names = { "--debug" }, paramLabel = "flag", description = "Enable debug logs.", defaultValue = "false")
+    private boolean             debug;
+
+    /**
+     * Pipelining depth.
+     */
+    @Option(names = { "--depth" }, paramLabel = "messages",
+            description = "Messages sent on each connection without waiting for their responses.", defaultValue = "1",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private int                 depth;
+
+    /**
+     * Seconds sending messages.
+     */
+    @Option(names = { "-d", "--duration" }, paramLabel = "seconds", description = "Seconds sending messages.",
+            defaultValue = "10", showDefaultValue = Help.Visibility.ALWAYS)
+    private long                duration;
+
+    /**
+     * Host to connect to.
+     */
+    @Option(names = { "--host" }, paramLabel = "host", description = "Host to connect to.",
+            defaultValue = "localhost", showDefaultValue = Help.Visibility.ALWAYS)
+    private String              host;
+
+    /**
+     * Message size.
+     */
+    @Option(names = { "--message-size" }, paramLabel = "bytes",
+            description = "Message size, including the line break ending it.", defaultValue = "64",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private int                 messageSize;
+
+    /**
+     * Port to connect to.
+     */
+    @Option(names = { "-p", "--port" }, paramLabel = "port", description = "Port to connect to.", required = true)
+    private Integer             port;
+
+    /**
+     * Target rate, for all the connections.
+     */
+    @Option(names = { "--rate" }, paramLabel = "messages",
+            description = "Messages per second, for all the connections. As fast as possible if zero.",
+            defaultValue = "0", showDefaultValue = Help.Visibility.ALWAYS)
+    private long                rate;
+
+    /**
+     * Responses flag. If active, each message expects a response.
+     */
+    @Option(names = { "--responses" }, paramLabel = "flag",
+            description = "Expect a line as response to each message. Disable for servers which don't answer.",
+            defaultValue = "true", showDefaultValue = Help.Visibility.ALWAYS)
+    private boolean             responses;
+
+    /**
+     * Command specification. Used to get the line output.
+     */
+    @Spec
+    private CommandSpec         spec;
+
+    /**
+     * Transport for the connections.
+     */
+    @Option(names = { "--transport" }, paramLabel = "transport",
+            description = "Transport for the connections. One of: ${COMPLETION-CANDIDATES}.", defaultValue = "AUTO",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private Transport           transport;
+
+    /**
+     * Default constructor.
+     */
+    public LoadCommand() {
+        super();
+    }
+
+    @Override
+    public final void run() {
+        final PrintWriter            writer;
+        final TransportLoopResources loops;
+        final LoadGenerator          generator;
+        final LoadResult             result;
+        final LatencySnapshot        latency;
+        final double                 elapsed;
+
+        if (debug) {
+            activateDebugLog();
+        }
+
+        writer = spec.commandLine()
+            .getOut();
+
+        writer.printf("Sending load to %s:%d through %d connections for %d seconds", host, port, connections,
+            duration);
+        writer.println();
+        writer.flush();
+
+        loops = new TransportLoopResources(transport, 0, 0);
+        generator = new LoadGenerator(host, port, buildOptions(), loops);
+        try {
+            result = generator.run();
+        } finally {
+            loops.dispose();
+        }
+
+        elapsed = result.getDuration() / NANOS_TO_SECONDS;
+        latency = result.getLatency();
+
+        writer.printf("Connections: %d opened, %d failed", result.getConnections(), result.getFailedConnections());
+        writer.println();
+        writer.printf("Sent: %d messages (%.1f/s) | %d bytes (%.1f B/s)", result.getMessages(),
+            result.getMessages() / elapsed, result.getBytesSent(), result.getBytesSent() / elapsed);
+        writer.println();
+        if (responses) {
+            writer.printf("Responses: %d (%.1f/s)", result.getResponses(), result.getResponses() / elapsed);
+            writer.println();
+            if (rate > 0) {
+                writer.print("Latency from the scheduled send time, corrected for coordinated omission");
+            } else {
+                writer.print("Latency from the actual send time, as there is no schedule");
+            }
+            writer.println();
+            writer.printf("Latency (us): p50 %.1f | p90 %.1f | p99 %.1f | p99.9 %.1f | max %.1f",
+                latency.getP50() / NANOS_TO_MICROS, latency.getP90() / NANOS_TO_MICROS,
+                latency.getP99() / NANOS_TO_MICROS, latency.getP999() / NANOS_TO_MICROS,
+                latency.getMax() / NANOS_TO_MICROS);
+            writer.println();
+        }
+        writer.printf("Duration: %d ms", TimeUnit.NANOSECONDS.toMillis(result.getDuration()));
+        writer.println();
+
+        writer.close();
+    }
+
+    /**
+     * Activates debug logs for the application.
+     */
+    private final void activateDebugLog() {
+        Configurator.setLevel("com.bernardomg.example", Level.DEBUG);
+        Configurator.setLevel("reactor.netty.tcp", Level.DEBUG);
+    }
+
+    /**
+     * Returns the load options selected through the options.
+     *
+     * @return the load options
+     */
+    private final LoadOptions buildOptions() {
+        return LoadOptions.builder()
+            .connections(connections)
+            .depth(depth)
+            .duration(Duration.ofSeconds(duration))
+            .messageSize(messageSize)
+            .rate(rate)
+            .responses(responses)
+            .build();
+    }
+
+}
@@ -0,0 +1,167 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.command;
+
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+
+import com.bernardomg.example.netty.tcp.cli.version.ManifestVersionProvider;
+import com.bernardomg.example.netty.tcp.client.CaptureReplay;
+import com.bernardomg.example.netty.tcp.client.ReplayResult;
+import com.bernardomg.example.netty.tcp.server.capture.CaptureReader;
+import com.bernardomg.example.netty.tcp.server.transport.Transport;
+import com.bernardomg.example.netty.tcp.server.transport.TransportLoopResources;
+
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Spec;
+
+/**
+ * Replay capture. Sends a traffic captured by the server to another server, reproducing the original connections.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Command(name = "replay", description = "Replays a captured traffic against a server", mixinStandardHelpOptions = true,
+        versionProvider = ManifestVersionProvider.class)
+public final class ReplayCommand implements Runnable {
+
+    /**
+     * Capture file to replay.
+     */
+    @Option(names = { "-c", "--capture" }, paramLabel = "file", description = "Capture file to replay.",
+            required = true)
+    private Path        capture;
+
+    /**
+     * Seconds to wait for the answers of each connection before closing it, and for the server to close it afterwards.
+     */
+    @Option(names = { "--close-timeout" }, paramLabel = "seconds",
+            description = "Seconds to wait for the answers of each connection, and for the server to close it.",
+            defaultValue = "5", showDefaultValue = Help.Visibility.ALWAYS)
+    private long        closeTimeout;
+
+    /**
+     * Debug flag. Shows debug logs.
+     */
+    @Option(names = { "--debug" }, paramLabel = "flag", description = "Enable debug logs.", defaultValue = "false")
+    private boolean     debug;
+
+    /**
+     * Host to connect to.
+     */
+    @Option(names = { "--host" }, paramLabel = "host", description = "Host to connect to.",
+            defaultValue = "localhost", showDefaultValue = Help.Visibility.ALWAYS)
+    private String      host;
+
+    /**
+     * Port to connect to.
+     */
+    @Option(names = { "-p", "--port" }, paramLabel = "port", description = "Port to connect to.", required = true)
+    private Integer     port;
+
+    /**
+     * Replay speed, relative to the capture.
+     */
+    @Option(names = { "--speed" }, paramLabel = "factor",
+            description = "Replay speed, relative to the capture. Zero replays as fast as possible.",
+            defaultValue = "1", showDefaultValue = Help.Visibility.ALWAYS)
+    private double      speed;
+
+    /**
+     * Transport for the connections.
+     */
+    @Option(names = { "--transport" }, paramLabel = "transport",
+            description = "Transport for the connections. One of: ${COMPLETION-CANDIDATES}.", defaultValue = "AUTO",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private Transport   transport;
+
+    /**
+     * Command specification. Used to get the line output.
+     */
+    @Spec
+    private CommandSpec spec;
+
+    /**
+     * Default constructor.
+     */
+    public ReplayCommand() {
+        super();
+    }
+
+    @Override
+    public final void run() {
+        final PrintWriter            writer;
+        final TransportLoopResources loops;
+        final CaptureReplay          replay;
+        final ReplayResult           result;
+
+        if (debug) {
+            activateDebugLog();
+        }
+
+        writer = spec.commandLine()
+            .getOut();
+
+        loops = new TransportLoopResources(transport, 0, 0);
+        replay = new CaptureReplay(host, port, speed, Duration.ofSeconds(closeTimeout), loops);
+        try (CaptureReader reader = new CaptureReader(capture)) {
+            writer.printf("Replaying capture from %tc against %s:%d", reader.getStartTime(), host, port);
+            writer.println();
+            writer.flush();
+
+            result = replay.replay(reader);
+        } finally {
+            loops.dispose();
+        }
+
+        writer.printf("Connections: %d opened, %d failed", result.getConnections(), result.getFailedConnections());
+        writer.println();
+        writer.printf("Traffic: sent %d bytes | received %d bytes, %d in the capture", result.getBytesSent(),
+            result.getBytesReceived(), result.getCapturedResponseBytes());
+        writer.println();
+        writer.printf("Duration: %d ms, %d ms in the capture", TimeUnit.NANOSECONDS.toMillis(result.getDuration()),
+            TimeUnit.NANOSECONDS.toMillis(result.getCapturedDuration()));
+        writer.println();
+
+        writer.close();
+    }
+
+    /**
+     * Activates debug logs for the application.
+     */
+    private final void activateDebugLog() {
+        Configurator.setLevel("com.bernardomg.example", Level.DEBUG);
+        Configurator.setLevel("reactor.netty.tcp", Level.DEBUG);
+    }
+
+}
@@ -27,24 +27,79 @@
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.config.Configurator;
 
+import com.bernardomg.example.netty.tcp.cli.ConfigFileDefaultProvider;
+import com.bernardomg.example.netty.tcp.cli.ConfigFileOptions;
+import com.bernardomg.example.netty.tcp.cli.ConfigFileWatcher;
+import com.bernardomg.example.netty.tcp.cli.Endpoint;
+import com.bernardomg.example.netty.tcp.cli.MetricsPrinter;
+import com.bernardomg.example.netty.tcp.cli.ReloadableSettings;
 import com.bernardomg.example.netty.tcp.cli.TransactionPrinterListener;
+import com.bernardomg.example.netty.tcp.cli.TransformType;
+import com.bernardomg.example.netty.tcp.cli.option.AllocatorMixin;
+import com.bernardomg.example.netty.tcp.cli.option.BackpressureMixin;
+import com.bernardomg.example.netty.tcp.cli.option.BatchMixin;
+import com.bernardomg.example.netty.tcp.cli.option.CacheMixin;
+import com.bernardomg.example.netty.tcp.cli.option.CaptureMixin;
+import com.bernardomg.example.netty.tcp.cli.option.ConfigMixin;
+import com.bernardomg.example.netty.tcp.cli.option.ConnectionLimitMixin;
+import com.bernardomg.example.netty.tcp.cli.option.EchoMixin;
+import com.bernardomg.example.netty.tcp.cli.option.EndpointMixin;
+import com.bernardomg.example.netty.tcp.cli.option.FramingMixin;
+import com.bernardomg.example.netty.tcp.cli.option.HandlerExecutionMixin;
+import com.bernardomg.example.netty.tcp.cli.option.IdleTimeoutMixin;
+import com.bernardomg.example.netty.tcp.cli.option.ListenerQueueMixin;
+import com.bernardomg.example.netty.tcp.cli.option.MetricsMixin;
+import com.bernardomg.example.netty.tcp.cli.option.OutputMixin;
+import com.bernardomg.example.netty.tcp.cli.option.RateLimitMixin;
+import com.bernardomg.example.netty.tcp.cli.option.RoutingMixin;
+import com.bernardomg.example.netty.tcp.cli.option.ShutdownMixin;
+import com.bernardomg.example.netty.tcp.cli.option.SocketMixin;
+import com.bernardomg.example.netty.tcp.cli.option.TlsMixin;
+import com.bernardomg.example.netty.tcp.cli.option.TransportMixin;
+import com.bernardomg.example.netty.tcp.cli.option.ZeroCopyMixin;
+import com.bernardomg.example.netty.tcp.cli.output.BufferedEventWriter;
 import com.bernardomg.example.netty.tcp.cli.version.ManifestVersionProvider;
+import com.bernardomg.example.netty.tcp.server.BufferTransactionListener;
+import com.bernardomg.example.netty.tcp.server.DecodingBufferTransactionListener;
 import com.bernardomg.example.netty.tcp.server.IoHandler;
-import com.bernardomg.example.netty.tcp.server.ListenAndAnswerIoHandler;
+import com.bernardomg.example.netty.tcp.server.NoOpBufferTransactionListener;
+import com.bernardomg.example.netty.tcp.server.OffloadingIoHandler;
 import com.bernardomg.example.netty.tcp.server.ReactorNettyTcpServer;
-import com.bernardomg.example.netty.tcp.server.Server;
-import com.bernardomg.example.netty.tcp.server.SinkIoHandler;
+import com.bernardomg.example.netty.tcp.server.ServerOptions;
 import com.bernardomg.example.netty.tcp.server.TransactionListener;
+import com.bernardomg.example.netty.tcp.server.cache.CachingIoHandler;
+import com.bernardomg.example.netty.tcp.server.cache.ResponseCache;
+import com.bernardomg.example.netty.tcp.server.capture.TrafficCapture;
+import com.bernardomg.example.netty.tcp.server.channel.RateLimits;
+import com.bernardomg.example.netty.tcp.server.listener.AsyncTransactionListener;
+import com.bernardomg.example.netty.tcp.server.listener.SharedTransactionListener;
+import com.bernardomg.example.netty.tcp.server.listener.SwitchableTransactionListener;
+import com.bernardomg.example.netty.tcp.server.metrics.CacheMetrics;
+import com.bernardomg.example.netty.tcp.server.metrics.MetricsHttpEndpoint;
+import com.bernardomg.example.netty.tcp.server.routing.RoutingIoHandler;
+import com.bernardomg.example.netty.tcp.server.routing.RoutingRulesReader;
+import com.bernardomg.example.netty.tcp.server.routing.RoutingTable;
+import com.bernardomg.example.netty.tcp.server.transport.TransportLoopResources;
 
+import lombok.extern.slf4j.Slf4j;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Help;
+import picocli.CommandLine.Mixin;
 import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Spec;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * Start server. This creates a server which listens for requests, if the response is defined it will also answer them.
@@ -52,41 +107,179 @@
  * @author Bernardo Mart&iacute;nez Garrido
  *
  */
+@Slf4j
 @Command(name = "start", description = "Starts a TCP server", mixinStandardHelpOptions = true,
-        versionProvider = ManifestVersionProvider.class)
+        versionProvider = ManifestVersionProvider.class, defaultValueProvider = ConfigFileDefaultProvider.class)
 public final class StartServerCommand implements Runnable {
 
+    /**
+     * Seconds the shutdown hook waits for the command to finish after stopping the server.
+     */
+    private static final long     FINISH_TIMEOUT = 5;
+
+    /**
+     * Buffer allocator options.
+     */
+    @Mixin
+    private AllocatorMixin        allocatorOptions;
+
+    /**
+     * Backpressure options.
+     */
+    @Mixin
+    private BackpressureMixin     backpressureOptions;
+
+    /**
+     * Response batching options.
+     */
+    @Mixin
+    private BatchMixin            batchOptions;
+
+    /**
+     * Response cache options.
+     */
+    @Mixin
+    private CacheMixin            cacheOptions;
+
+    /**
+     * Traffic capture options.
+     */
+    @Mixin
+    private CaptureMixin          captureOptions;
+
+    /**
+     * Config file options.
+     */
+    @Mixin
+    private ConfigMixin           configOptions;
+
+    /**
+     * Connection limit options.
+     */
+    @Mixin
+    private ConnectionLimitMixin  connectionLimitOptions;
+
     /**
      * Debug flag. Shows debug logs.
      */
     @Option(names = { "--debug" }, paramLabel = "flag", description = "Enable debug logs.", defaultValue = "false")
-    private boolean     debug;
+    private boolean               debug;
+
+    /**
+     * Echo options.
+     */
+    @Mixin
+    private EchoMixin             echoOptions;
+
+    /**
+     * Additional endpoint options.
+     */
+    @Mixin
+    private EndpointMixin         endpointOptions;
+
+    /**
+     * Framing options.
+     */
+    @Mixin
+    private FramingMixin          framingOptions;
+
+    /**
+     * Handler execution options.
+     */
+    @Mixin
+    private HandlerExecutionMixin handlerOptions;
+
+    /**
+     * Idle timeout options.
+     */
+    @Mixin
+    private IdleTimeoutMixin      idleTimeoutOptions;
+
+    /**
+     * Listener queue options.
+     */
+    @Mixin
+    private ListenerQueueMixin    listenerQueueOptions;
+
+    /**
+     * Metrics options.
+     */
+    @Mixin
+    private MetricsMixin          metricsOptions;
+
+    /**
+     * Event output options.
+     */
+    @Mixin
+    private OutputMixin           outputOptions;
 
     /**
      * Port to listen.
      */
     @Option(names = { "-p", "--port" }, paramLabel = "port", description = "Port to listen.", required = true)
-    private Integer     port;
+    private Integer               port;
+
+    /**
+     * Rate limit options.
+     */
+    @Mixin
+    private RateLimitMixin        rateLimitOptions;
 
     /**
      * Response to return.
      */
     @Option(names = { "-r", "--response" }, paramLabel = "response",
             description = "Response to send back after receiving a request.")
-    private String      response;
+    private String                response;
+
+    /**
+     * Routing options.
+     */
+    @Mixin
+    private RoutingMixin          routingOptions;
+
+    /**
+     * Shutdown options.
+     */
+    @Mixin
+    private ShutdownMixin         shutdownOptions;
+
+    /**
+     * Socket options.
+     */
+    @Mixin
+    private SocketMixin           socketOptions;
 
     /**
      * Command specification. Used to get the line output.
      */
     @Spec
-    private CommandSpec spec;
+    private CommandSpec           spec;
+
+    /**
+     * TLS options.
+     */
+    @Mixin
+    private TlsMixin              tlsOptions;
+
+    /**
+     * Transport options.
+     */
+    @Mixin
+    private TransportMixin        transportOptions;
 
     /**
      * Verbose mode. If active prints info into the console. Active by default.
      */
     @Option(names = { "--verbose" }, paramLabel = "flag", description = "Print information to console.",
             defaultValue = "true", showDefaultValue = Help.Visibility.ALWAYS)
-    private boolean     verbose;
+    private boolean               verbose;
+
+    /**
+     * Zero copy options.
+     */
+    @Mixin
+    private ZeroCopyMixin         zeroCopyOptions;
 
     /**
      * Default constructor.
@@ -97,16 +290,40 @@ public StartServerCommand() {
 
     @Override
     public final void run() {
-        final PrintWriter         writer;
-        final Server              server;
-        final TransactionListener listener;
-        final IoHandler           handler;
+        final PrintWriter                         writer;
+        final ReactorNettyTcpServer               server;
+        final List<ReactorNettyTcpServer>         servers;
+        final ServerOptions                       options;
+        final int                                 forceClosed;
+        final TransactionListener                 printer;
+        final TransactionListener                 queued;
+        final TransactionListener                 listener;
+        final AtomicReference<ReloadableSettings> settings;
+        final ConfigFileWatcher                   watcher;
+        final AsyncTransactionListener            asyncListener;
+        final BufferedEventWriter                 eventWriter;
+        final TrafficCapture                      capture;
+        final CacheMetrics                        cacheMetrics;
+        final ResponseCache                       cache;
+        final Scheduler                           scheduler;
+        final IoHandler                           handler;
+        final MetricsPrinter                      metricsPrinter;
+        final MetricsHttpEndpoint                 metricsEndpoint;
+        final TransportLoopResources              loops;
+        final CountDownLatch                      finished;
+
+        if (configOptions.isWatching() && (configOptions.getConfig() == null)) {
+            throw new IllegalArgumentException("Watching the config requires a config file");
+        }
 
         if (debug) {
             activateDebugLog();
         }
 
-        if (verbose) {
+        // Set before creating any buffer
+        allocatorOptions.applyLeakDetection();
+
+        if (isPrinting()) {
             // Prints to console
             writer = spec.commandLine()
                 .getOut();
@@ -115,25 +332,137 @@ public final void run() {
             writer = new PrintWriter(OutputStream.nullOutputStream(), false, Charset.defaultCharset());
         }
 
+        // Create event loops
+        loops = transportOptions.buildLoops(writer);
+
         // Create server
-        listener = new TransactionPrinterListener(port, writer);
-        if (response == null) {
-            // Missing response, will just sink requests
-            handler = new SinkIoHandler(listener);
+        if (outputOptions.isBuffered(isPrinting())) {
+            // Writes in batches
+            eventWriter = outputOptions.buildWriter(port);
+            printer = eventWriter;
+        } else {
+            eventWriter = null;
+            printer = new TransactionPrinterListener(port, writer);
+        }
+        asyncListener = listenerQueueOptions.buildListener(printer);
+        if (asyncListener != null) {
+            // Prints in its own thread
+            queued = asyncListener;
+        } else {
+            queued = printer;
+        }
+        if (configOptions.isWatching()) {
+            settings = new AtomicReference<>(buildSettings(response, routingOptions.getRoutes(), verbose));
+            // Verbosity may change, so the events are sent only while it is active
+            listener = new SwitchableTransactionListener(queued, () -> settings.get()
+                .isVerbose());
+        } else {
+            settings = null;
+            listener = queued;
+        }
+        if ((routingOptions.isEnabled() || configOptions.isWatching()) && cacheOptions.isEnabled()) {
+            cacheMetrics = new CacheMetrics();
+            cache = cacheOptions.buildCache(cacheMetrics);
         } else {
-            handler = new ListenAndAnswerIoHandler(response, listener);
+            cacheMetrics = null;
+            cache = null;
         }
-        server = new ReactorNettyTcpServer(port, listener, handler, debug);
+        scheduler = handlerOptions.buildScheduler(writer);
+        handler = decorateHandler(buildHandler(listener, cache, settings), scheduler);
+        capture = captureOptions.startCapture();
+        options = buildOptions(capture, cacheMetrics);
+        server = new ReactorNettyTcpServer(port, listener, handler, framingOptions.buildFraming(), loops, options);
+        servers = new ArrayList<>();
+        servers.add(server);
+        // Additional endpoints share the loops, allocator, metrics and connection limit with the main server
+        servers.addAll(buildEndpoints(listener, scheduler, loops, options.toBuilder()
+            .metrics(server.getMetrics())
+            .connectionLimit(server.getConnectionLimit())
+            .build()));
+
+        // Start servers, the main one first as it starts the listener
+        servers.forEach(ReactorNettyTcpServer::start);
+        for (final Endpoint endpoint : endpointOptions.getEndpoints()) {
+            writer.printf("Listening to port %d with %s endpoint", endpoint.getPort(), endpoint.getType());
+            writer.println();
+        }
+
+        // Publish metrics
+        metricsPrinter = metricsOptions.buildPrinter(server.getMetrics(), spec.commandLine()
+            .getOut());
+        if (metricsPrinter != null) {
+            metricsPrinter.start();
+        }
+        metricsEndpoint = metricsOptions.buildEndpoint(server.getMetrics());
+        if (metricsEndpoint != null) {
+            metricsEndpoint.start();
+        }
+
+        // Applies the config file changes
+        if (configOptions.isWatching()) {
+            watcher = new ConfigFileWatcher(configOptions.getConfig(), () -> reload(servers, settings, cache, writer));
+            watcher.start();
+        } else {
+            watcher = null;
+        }
+
+        // Stops gracefully when the JVM is terminated
+        finished = new CountDownLatch(1);
+        Runtime.getRuntime()
+            .addShutdownHook(new Thread(() -> stopOnShutdown(servers, finished), "server-shutdown"));
 
-        // Start server
-        server.start();
         server.listen();
 
-        // Stop server
-        server.stop();
+        // Stop servers
+        stopServers(servers);
+        loops.dispose();
 
-        // Close writer
+        if (metricsPrinter != null) {
+            metricsPrinter.stop();
+        }
+        if (metricsEndpoint != null) {
+            metricsEndpoint.stop();
+        }
+        if (watcher != null) {
+            watcher.stop();
+        }
+
+        if ((asyncListener != null) && (asyncListener.getDroppedEvents() > 0)) {
+            writer.printf("Dropped %d listener events", asyncListener.getDroppedEvents());
+            writer.println();
+        }
+
+        if (capture != null) {
+            capture.close();
+            if (capture.getDroppedRecords() > 0) {
+                writer.printf("Dropped %d capture records", capture.getDroppedRecords());
+                writer.println();
+            }
+        }
+
+        if (cache != null) {
+            cache.close();
+        }
+
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+
+        forceClosed = servers.stream()
+            .mapToInt(ReactorNettyTcpServer::getForceClosedConnections)
+            .sum();
+        if (forceClosed > 0) {
+            writer.printf("Closed %d connections by force", forceClosed);
+            writer.println();
+        }
+
+        // Close writers
+        if (eventWriter != null) {
+            eventWriter.close();
+        }
         writer.close();
+
+        finished.countDown();
     }
 
     /**
@@ -144,4 +473,316 @@ private final void activateDebugLog() {
         Configurator.setLevel("reactor.netty.tcp", Level.DEBUG);
     }
 
+    /**
+     * Returns the buffer listener for the handlers working with buffers. Buffers are only decoded if they may be
+     * printed.
+     *
+     * @param listener
+     *            transaction listener receiving the decoded messages
+     * @return the buffer listener
+     */
+    private final BufferTransactionListener buildBufferListener(final TransactionListener listener) {
+        final BufferTransactionListener bufferListener;
+
+        if (isPrinting()) {
+            // Decodes messages to print them
+            bufferListener = new DecodingBufferTransactionListener(listener);
+        } else {
+            // Nothing to print, messages are never decoded
+            bufferListener = new NoOpBufferTransactionListener();
+        }
+
+        return bufferListener;
+    }
+
+    /**
+     * Returns the I/O handler for an additional endpoint. Like the main handler, it works with buffers if zero-copy is
+     * active.
+     *
+     * @param endpoint
+     *            endpoint to handle
+     * @param listener
+     *            transaction listener for the handler
+     * @return the I/O handler for the endpoint
+     */
+    private final IoHandler buildEndpointHandler(final Endpoint endpoint, final TransactionListener listener) {
+        final IoHandler handler;
+
+        switch (endpoint.getType()) {
+            case ANSWER:
+                handler = zeroCopyOptions.buildHandler(endpoint.getArgument(), listener,
+                    buildBufferListener(listener));
+                break;
+            case ECHO:
+                if (endpoint.getArgument() == null) {
+                    handler = EchoMixin.buildEchoHandler(null, buildBufferListener(listener));
+                } else {
+                    handler = EchoMixin.buildEchoHandler(TransformType.valueOf(endpoint.getArgument()
+                        .trim()
+                        .toUpperCase(Locale.ROOT)), buildBufferListener(listener));
+                }
+                break;
+            case ROUTES:
+                handler = new RoutingIoHandler(
+                    new RoutingTable(new RoutingRulesReader(Path.of(endpoint.getArgument())).read(), null),
+                    listener);
+                break;
+            default:
+                handler = zeroCopyOptions.buildHandler(null, listener, buildBufferListener(listener));
+        }
+
+        return handler;
+    }
+
+    /**
+     * Returns the servers for the additional endpoints. They share the listener, scheduler, event loops and options
+     * with the main server, but not the listener lifecycle, which is left to the main server.
+     *
+     * @param listener
+     *            transaction listener of the main server
+     * @param scheduler
+     *            scheduler where the requests are processed, or {@code null} to process them in the event loop
+     * @param loops
+     *            event loops for the servers
+     * @param options
+     *            socket and channel options for the servers
+     * @return the servers for the additional endpoints
+     */
+    private final List<ReactorNettyTcpServer> buildEndpoints(final TransactionListener listener,
+            final Scheduler scheduler, final TransportLoopResources loops, final ServerOptions options) {
+        final List<ReactorNettyTcpServer> result;
+        final TransactionListener         shared;
+        IoHandler                         handler;
+
+        result = new ArrayList<>();
+        if (!endpointOptions.getEndpoints()
+            .isEmpty()) {
+            shared = new SharedTransactionListener(listener);
+            for (final Endpoint endpoint : endpointOptions.getEndpoints()) {
+                handler = decorateHandler(buildEndpointHandler(endpoint, shared), scheduler);
+                result.add(new ReactorNettyTcpServer(endpoint.getPort(), shared, handler,
+                    framingOptions.buildFraming(), loops, options));
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the I/O handler selected through the options.
+     * <p>
+     * Echoes take precedence over anything else. Otherwise, if the settings can be reloaded, the responses always come
+     * from them, as they may change from no response at all to a routing table.
+     *
+     * @param listener
+     *            transaction listener for the handler
+     * @param cache
+     *            cache for the routed responses, may be {@code null}
+     * @param settings
+     *            reloadable settings, {@code null} if they are never reloaded
+     * @return the I/O handler for the requests
+     */
+    private final IoHandler buildHandler(final TransactionListener listener, final ResponseCache cache,
+            final AtomicReference<ReloadableSettings> settings) {
+        final IoHandler                 handler;
+        final BufferTransactionListener bufferListener;
+        final RoutingTable              table;
+
+        bufferListener = buildBufferListener(listener);
+
+        if (echoOptions.isEnabled()) {
+            // Echoes work on buffers, and take precedence over any response
+            handler = echoOptions.buildHandler(bufferListener);
+        } else if (settings != null) {
+            // Reads the current responses for each request
+            if (cache != null) {
+                handler = new CachingIoHandler(next -> settings.get()
+                    .getResponses()
+                    .route(next), cache, bufferListener);
+            } else {
+                handler = new RoutingIoHandler(() -> settings.get()
+                    .getResponses(), listener);
+            }
+        } else if (routingOptions.isEnabled()) {
+            // Routing works on decoded requests, so it takes precedence over zero-copy
+            table = routingOptions.buildTable(response);
+            if (cache != null) {
+                handler = new CachingIoHandler(table::route, cache, bufferListener);
+            } else {
+                handler = new RoutingIoHandler(table, listener);
+            }
+        } else {
+            handler = zeroCopyOptions.buildHandler(response, listener, bufferListener);
+        }
+
+        return handler;
+    }
+
+    /**
+     * Returns the server options selected through the options.
+     *
+     * @param capture
+     *            capture for the traffic, may be {@code null}
+     * @param cacheMetrics
+     *            metrics for the response cache, may be {@code null}
+     * @return the socket and channel options
+     */
+    private final ServerOptions buildOptions(final TrafficCapture capture, final CacheMetrics cacheMetrics) {
+        final ServerOptions options;
+
+        options = ServerOptions.builder()
+            .acceptors(transportOptions.getAcceptors())
+            .allocator(allocatorOptions.buildAllocator())
+            .capture(capture)
+            .cacheMetrics(cacheMetrics)
+            .backpressure(backpressureOptions.isEnabled())
+            .connectionLimitPolicy(connectionLimitOptions.getPolicy())
+            .maxConnections(connectionLimitOptions.getMaxConnections())
+            .rateLimits(rateLimitOptions.buildRateLimits())
+            .reloadable(configOptions.isWatching())
+            .readIdleTimeout(idleTimeoutOptions.getReadIdleTimeout())
+            .shutdownTimeout(shutdownOptions.getShutdownTimeout())
+            .tls(tlsOptions.buildTlsOptions())
+            .wiretap(debug)
+            .writeIdleTimeout(idleTimeoutOptions.getWriteIdleTimeout())
+            .build();
+
+        return socketOptions.apply(options);
+    }
+
+    /**
+     * Returns the reloadable settings for the received values. Without routes, the routing table only holds the
+     * default response.
+     *
+     * @param rspns
+     *            default response, may be {@code null}
+     * @param rts
+     *            routing rules file, may be {@code null}
+     * @param vrbs
+     *            verbose flag
+     * @return the reloadable settings
+     */
+    private final ReloadableSettings buildSettings(final String rspns, final Path rts, final boolean vrbs) {
+        final RoutingTable table;
+
+        if (rts != null) {
+            table = new RoutingTable(new RoutingRulesReader(rts).read(), rspns);
+        } else {
+            table = new RoutingTable(List.of(), rspns);
+        }
+
+        return ReloadableSettings.builder()
+            .responses(table)
+            .verbose(vrbs)
+            .build();
+    }
+
+    /**
+     * Decorates the I/O handler with the features selected through the options.
+     *
+     * @param handler
+     *            handler to decorate
+     * @param scheduler
+     *            scheduler where the requests are processed, or {@code null} to process them in the event loop
+     * @return the decorated handler
+     */
+    private final IoHandler decorateHandler(final IoHandler handler, final Scheduler scheduler) {
+        final IoHandler offloaded;
+
+        if (scheduler != null) {
+            // Process requests outside the event loop
+            offloaded = new OffloadingIoHandler(handler, scheduler);
+        } else {
+            offloaded = handler;
+        }
+
+        return batchOptions.decorate(offloaded);
+    }
+
+    /**
+     * Returns if the transactions may be printed. This is the case if verbose, or if verbosity can change.
+     *
+     * @return {@code true} if the transactions may be printed, {@code false} otherwise
+     */
+    private final boolean isPrinting() {
+        return verbose || configOptions.isWatching();
+    }
+
+    /**
+     * Reads the config file again, and applies the reloadable options. First the new settings are built, then they
+     * replace the current ones, so a file with errors changes nothing.
+     *
+     * @param servers
+     *            servers to apply the rate limits to
+     * @param settings
+     *            current settings, to be replaced
+     * @param cache
+     *            cache for the responses, may be {@code null}
+     * @param writer
+     *            writer for reporting the reload
+     */
+    private final void reload(final List<ReactorNettyTcpServer> servers,
+            final AtomicReference<ReloadableSettings> settings, final ResponseCache cache, final PrintWriter writer) {
+        final Path               config;
+        final ConfigFileOptions  options;
+        final ReloadableSettings loaded;
+        final RateLimits         limits;
+
+        config = configOptions.getConfig();
+        try {
+            options = new ConfigFileOptions(spec, config);
+            limits = RateLimitMixin.readRateLimits(options);
+            loaded = buildSettings(options.getValue("--response"), options.getValue("--routes"),
+                options.getValue("--verbose"));
+
+            settings.set(loaded);
+            servers.forEach(server -> server.setRateLimits(limits));
+            if (cache != null) {
+                // Cached responses may be outdated
+                cache.clear();
+            }
+
+            writer.printf("Reloaded config file %s", config);
+            writer.println();
+        } catch (final RuntimeException e) {
+            // Keeps the current settings
+            log.error("Invalid config file {}", config, e);
+            writer.printf("Config file %s not reloaded: %s", config, e.getMessage());
+            writer.println();
+        }
+    }
+
+    /**
+     * Stops the servers when the JVM is shutting down. Then waits for the command to finish, so it can report how the
+     * servers stopped.
+     *
+     * @param servers
+     *            servers to stop
+     * @param finished
+     *            latch released when the command finishes
+     */
+    private final void stopOnShutdown(final List<ReactorNettyTcpServer> servers, final CountDownLatch finished) {
+        stopServers(servers);
+        try {
+            finished.await(FINISH_TIMEOUT, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+        }
+    }
+
+    /**
+     * Stops the servers. The main one, which is first, is stopped last, as it stops the listener shared by all of
+     * them.
+     *
+     * @param servers
+     *            servers to stop
+     */
+    private final void stopServers(final List<ReactorNettyTcpServer> servers) {
+        for (int i = servers.size() - 1; i >= 0; i--) {
+            servers.get(i)
+                .stop();
+        }
+    }
+
 }
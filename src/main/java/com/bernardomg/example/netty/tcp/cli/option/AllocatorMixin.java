@@ -0,0 +1,101 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import com.bernardomg.example.netty.tcp.cli.AllocatorType;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.util.ResourceLeakDetector;
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * Buffer allocator options, including the leak detection for the allocated buffers.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class AllocatorMixin {
+
+    /**
+     * Buffer allocator type.
+     */
+    @Option(names = { "--allocator" }, paramLabel = "type",
+            description = "Buffer allocator. One of: ${COMPLETION-CANDIDATES}.", defaultValue = "POOLED",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private AllocatorType              allocator;
+
+    /**
+     * Direct buffers flag. If active, the allocator prefers direct buffers over heap buffers.
+     */
+    @Option(names = { "--direct-buffers" }, paramLabel = "flag",
+            description = "Allocate direct buffers instead of heap buffers.", defaultValue = "true",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private boolean                    directBuffers;
+
+    /**
+     * Buffer leak detection level.
+     */
+    @Option(names = { "--leak-detection" }, paramLabel = "level",
+            description = "Buffer leak detection level. One of: ${COMPLETION-CANDIDATES}.", defaultValue = "SIMPLE",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private ResourceLeakDetector.Level leakDetection;
+
+    /**
+     * Default constructor.
+     */
+    public AllocatorMixin() {
+        super();
+    }
+
+    /**
+     * Sets the buffer leak detection level. Should be called before creating any buffer.
+     */
+    public final void applyLeakDetection() {
+        ResourceLeakDetector.setLevel(leakDetection);
+    }
+
+    /**
+     * Returns the buffer allocator selected through the options.
+     *
+     * @return the buffer allocator
+     */
+    public final ByteBufAllocator buildAllocator() {
+        final ByteBufAllocator result;
+
+        switch (allocator) {
+            case UNPOOLED:
+                result = new UnpooledByteBufAllocator(directBuffers);
+                break;
+            default:
+                result = new PooledByteBufAllocator(directBuffers);
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,62 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * Backpressure options. With backpressure, connections which can't take more responses stop being read.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class BackpressureMixin {
+
+    /**
+     * Backpressure flag. If active, connections stop reading while their responses can't be written.
+     */
+    @Option(names = { "--backpressure" }, paramLabel = "flag",
+            description = "Stop reading from connections while their responses can't be written.",
+            defaultValue = "false", showDefaultValue = Help.Visibility.ALWAYS)
+    private boolean backpressure;
+
+    /**
+     * Default constructor.
+     */
+    public BackpressureMixin() {
+        super();
+    }
+
+    /**
+     * Returns if backpressure is enabled.
+     *
+     * @return {@code true} if backpressure is enabled, {@code false} otherwise
+     */
+    public final boolean isEnabled() {
+        return backpressure;
+    }
+
+}
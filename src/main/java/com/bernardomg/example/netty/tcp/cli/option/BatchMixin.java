@@ -0,0 +1,86 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import java.util.concurrent.TimeUnit;
+
+import com.bernardomg.example.netty.tcp.server.BatchingIoHandler;
+import com.bernardomg.example.netty.tcp.server.IoHandler;
+
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * Response batching options. Responses to pipelined requests can be flushed together.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class BatchMixin {
+
+    /**
+     * Maximum time, in microseconds, a response flush is delayed outside a read cycle.
+     */
+    @Option(names = { "--batch-delay" }, paramLabel = "micros",
+            description = "Maximum delay for a batched response, in microseconds.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private long batchDelay;
+
+    /**
+     * Maximum number of responses flushed together. Batching is disabled if lower than two.
+     */
+    @Option(names = { "--batch-size" }, paramLabel = "responses",
+            description = "Maximum number of responses flushed together. Disabled if lower than 2.",
+            defaultValue = "1", showDefaultValue = Help.Visibility.ALWAYS)
+    private int  batchSize;
+
+    /**
+     * Default constructor.
+     */
+    public BatchMixin() {
+        super();
+    }
+
+    /**
+     * Returns the I/O handler batching the responses, or the received handler if batching is disabled.
+     *
+     * @param handler
+     *            handler to batch
+     * @return the I/O handler batching the responses
+     */
+    public final IoHandler decorate(final IoHandler handler) {
+        final IoHandler batched;
+
+        if (batchSize > 1) {
+            // Batch responses
+            batched = new BatchingIoHandler(handler, batchSize, TimeUnit.MICROSECONDS.toNanos(batchDelay));
+        } else {
+            batched = handler;
+        }
+
+        return batched;
+    }
+
+}
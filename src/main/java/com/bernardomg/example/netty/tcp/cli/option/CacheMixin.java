@@ -0,0 +1,94 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import java.time.Duration;
+
+import com.bernardomg.example.netty.tcp.server.cache.ResponseCache;
+import com.bernardomg.example.netty.tcp.server.metrics.CacheMetrics;
+
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * Response cache options. The cache keeps the routed responses, so they are not computed again.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class CacheMixin {
+
+    /**
+     * Maximum number of cached responses. The cache is disabled if zero.
+     */
+    @Option(names = { "--cache-entries" }, paramLabel = "entries",
+            description = "Maximum number of routed responses cached. Disabled if zero.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private int  cacheEntries;
+
+    /**
+     * Maximum memory used by the cached responses.
+     */
+    @Option(names = { "--cache-memory" }, paramLabel = "bytes",
+            description = "Maximum memory used by the cached responses.", defaultValue = "67108864",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private long cacheMemory;
+
+    /**
+     * Time to live for the cached responses. If zero, they don't expire.
+     */
+    @Option(names = { "--cache-ttl" }, paramLabel = "seconds",
+            description = "Time to live for the cached responses. If zero, they don't expire.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private int  cacheTtl;
+
+    /**
+     * Default constructor.
+     */
+    public CacheMixin() {
+        super();
+    }
+
+    /**
+     * Returns the response cache with the selected limits.
+     *
+     * @param metrics
+     *            metrics for the cache
+     * @return the response cache
+     */
+    public final ResponseCache buildCache(final CacheMetrics metrics) {
+        return new ResponseCache(cacheEntries, cacheMemory, Duration.ofSeconds(cacheTtl), metrics);
+    }
+
+    /**
+     * Returns if the cache is enabled.
+     *
+     * @return {@code true} if the cache is enabled, {@code false} otherwise
+     */
+    public final boolean isEnabled() {
+        return cacheEntries > 0;
+    }
+
+}
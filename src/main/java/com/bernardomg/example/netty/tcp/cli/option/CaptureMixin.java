@@ -0,0 +1,78 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import java.nio.file.Path;
+
+import com.bernardomg.example.netty.tcp.server.capture.TrafficCapture;
+
+import picocli.CommandLine.Option;
+
+/**
+ * Traffic capture options. The captured traffic can be replayed later.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class CaptureMixin {
+
+    /**
+     * Records which can wait to be written into the capture.
+     */
+    private static final int CAPTURE_QUEUE = 64 * 1024;
+
+    /**
+     * Capture file. If set, the traffic is captured into it.
+     */
+    @Option(names = { "--capture" }, paramLabel = "file",
+            description = "File where the traffic is captured, for replaying it later.")
+    private Path             captureFile;
+
+    /**
+     * Default constructor.
+     */
+    public CaptureMixin() {
+        super();
+    }
+
+    /**
+     * Returns the traffic capture, already started, or {@code null} if the traffic is not captured.
+     *
+     * @return the traffic capture
+     */
+    public final TrafficCapture startCapture() {
+        final TrafficCapture capture;
+
+        if (captureFile != null) {
+            capture = new TrafficCapture(captureFile, CAPTURE_QUEUE);
+            capture.start();
+        } else {
+            capture = null;
+        }
+
+        return capture;
+    }
+
+}
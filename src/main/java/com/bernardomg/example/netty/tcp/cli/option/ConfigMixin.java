@@ -0,0 +1,80 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import java.nio.file.Path;
+
+import picocli.CommandLine.Option;
+
+/**
+ * Config file options. The config file holds default values for the other options, and it can be watched for changes.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class ConfigMixin {
+
+    /**
+     * Config file. Properties file with default values for the options.
+     */
+    @Option(names = { "--config" }, paramLabel = "file",
+            description = "Properties file with values for the options, using their names as keys.")
+    private Path    config;
+
+    /**
+     * Config watch flag. If active, the config file is read again when it changes, and some options are applied while
+     * running.
+     */
+    @Option(names = { "--config-watch" }, paramLabel = "flag",
+            description = "Reload the response, routes, rate limits and verbose options when the config file changes.",
+            defaultValue = "false")
+    private boolean configWatch;
+
+    /**
+     * Default constructor.
+     */
+    public ConfigMixin() {
+        super();
+    }
+
+    /**
+     * Returns the config file, or {@code null} if there is none.
+     *
+     * @return the config file
+     */
+    public final Path getConfig() {
+        return config;
+    }
+
+    /**
+     * Returns if the config file is watched for changes.
+     *
+     * @return {@code true} if the config file is watched, {@code false} otherwise
+     */
+    public final boolean isWatching() {
+        return configWatch;
+    }
+
+}
@@ -0,0 +1,81 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import com.bernardomg.example.netty.tcp.server.channel.ConnectionLimitPolicy;
+
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * Connection limit options. Bound the number of open connections.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class ConnectionLimitMixin {
+
+    /**
+     * What to do with connections over the limit.
+     */
+    @Option(names = { "--connection-limit-policy" }, paramLabel = "policy",
+            description = "Policy for connections over the limit. One of: ${COMPLETION-CANDIDATES}.",
+            defaultValue = "REJECT", showDefaultValue = Help.Visibility.ALWAYS)
+    private ConnectionLimitPolicy connectionLimitPolicy;
+
+    /**
+     * Maximum number of open connections. Unlimited if zero.
+     */
+    @Option(names = { "--max-connections" }, paramLabel = "connections",
+            description = "Maximum number of open connections. Unlimited if zero.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private int                   maxConnections;
+
+    /**
+     * Default constructor.
+     */
+    public ConnectionLimitMixin() {
+        super();
+    }
+
+    /**
+     * Returns the maximum number of open connections. Unlimited if zero.
+     *
+     * @return the maximum number of open connections
+     */
+    public final int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Returns what to do with connections over the limit.
+     *
+     * @return the policy for connections over the limit
+     */
+    public final ConnectionLimitPolicy getPolicy() {
+        return connectionLimitPolicy;
+    }
+
+}
@@ -0,0 +1,123 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import java.util.function.Supplier;
+
+import com.bernardomg.example.netty.tcp.cli.TransformType;
+import com.bernardomg.example.netty.tcp.server.BufferTransactionListener;
+import com.bernardomg.example.netty.tcp.server.EchoIoHandler;
+import com.bernardomg.example.netty.tcp.server.IoHandler;
+import com.bernardomg.example.netty.tcp.server.transform.ChecksumTransform;
+import com.bernardomg.example.netty.tcp.server.transform.DeflateTransform;
+import com.bernardomg.example.netty.tcp.server.transform.StreamTransform;
+import com.bernardomg.example.netty.tcp.server.transform.TransformIoHandler;
+import com.bernardomg.example.netty.tcp.server.transform.UppercaseTransform;
+
+import picocli.CommandLine.Option;
+
+/**
+ * Echo options. Requests can be sent back as they are, or through a transform.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class EchoMixin {
+
+    /**
+     * Echo flag. If active, requests are written back as they are, and the response and routes are ignored.
+     */
+    @Option(names = { "--echo" }, paramLabel = "flag", description = "Send the requests back, ignoring the response.",
+            defaultValue = "false")
+    private boolean       echo;
+
+    /**
+     * Transform for the echoed requests. If set, the requests are echoed, even without the echo flag.
+     */
+    @Option(names = { "--transform" }, paramLabel = "transform",
+            description = "Transform the echoed requests, implies echo. One of: ${COMPLETION-CANDIDATES}.")
+    private TransformType transform;
+
+    /**
+     * Default constructor.
+     */
+    public EchoMixin() {
+        super();
+    }
+
+    /**
+     * Returns the I/O handler which echoes the requests, transformed if there is a transform.
+     *
+     * @param trnsfrm
+     *            transform for the requests, may be {@code null}
+     * @param bufferListener
+     *            buffer listener for the handler
+     * @return the I/O handler echoing the requests
+     */
+    public static final IoHandler buildEchoHandler(final TransformType trnsfrm,
+            final BufferTransactionListener bufferListener) {
+        final Supplier<StreamTransform> transforms;
+        final IoHandler                 handler;
+
+        if (trnsfrm == null) {
+            handler = new EchoIoHandler(bufferListener);
+        } else {
+            switch (trnsfrm) {
+                case CHECKSUM:
+                    transforms = ChecksumTransform::new;
+                    break;
+                case DEFLATE:
+                    transforms = DeflateTransform::new;
+                    break;
+                default:
+                    transforms = UppercaseTransform::new;
+            }
+            handler = new TransformIoHandler(transforms, bufferListener);
+        }
+
+        return handler;
+    }
+
+    /**
+     * Returns the I/O handler which echoes the requests with the selected transform.
+     *
+     * @param bufferListener
+     *            buffer listener for the handler
+     * @return the I/O handler echoing the requests
+     */
+    public final IoHandler buildHandler(final BufferTransactionListener bufferListener) {
+        return buildEchoHandler(transform, bufferListener);
+    }
+
+    /**
+     * Returns if the requests are echoed. This is the case with the echo flag, or with a transform.
+     *
+     * @return {@code true} if the requests are echoed, {@code false} otherwise
+     */
+    public final boolean isEnabled() {
+        return echo || (transform != null);
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import java.util.List;
+
+import com.bernardomg.example.netty.tcp.cli.Endpoint;
+import com.bernardomg.example.netty.tcp.cli.EndpointConverter;
+
+import picocli.CommandLine.Option;
+
+/**
+ * Additional endpoint options. Each endpoint listens to its own port in the same process.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class EndpointMixin {
+
+    /**
+     * Additional endpoints. Each one listens to its own port with its own handler, sharing the event loops, allocator
+     * and metrics with the main port.
+     */
+    @Option(names = { "--endpoint" }, paramLabel = "port:type[:argument]", converter = EndpointConverter.class,
+            split = ",", description = "Additional endpoint, with its own port and handler. The type is sink, "
+                    + "answer, with the response as argument, routes, with the rules file as argument, or echo, "
+                    + "with an optional transform as argument.")
+    private List<Endpoint> endpoints;
+
+    /**
+     * Default constructor.
+     */
+    public EndpointMixin() {
+        super();
+    }
+
+    /**
+     * Returns the additional endpoints. The list is empty if there are none.
+     *
+     * @return the additional endpoints
+     */
+    public final List<Endpoint> getEndpoints() {
+        final List<Endpoint> result;
+
+        if (endpoints == null) {
+            result = List.of();
+        } else {
+            result = endpoints;
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,102 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import com.bernardomg.example.netty.tcp.cli.FramingType;
+import com.bernardomg.example.netty.tcp.server.framing.FixedLengthFraming;
+import com.bernardomg.example.netty.tcp.server.framing.Framing;
+import com.bernardomg.example.netty.tcp.server.framing.LengthFieldFraming;
+import com.bernardomg.example.netty.tcp.server.framing.LineFraming;
+import com.bernardomg.example.netty.tcp.server.framing.RawFraming;
+
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * Framing options. Define how the requests are split from the TCP stream.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class FramingMixin {
+
+    /**
+     * Frame length. Maximum length for line and length field framings, exact length for fixed framing.
+     */
+    @Option(names = { "--frame-length" }, paramLabel = "bytes",
+            description = "Maximum message length, without line break or length field, or exact length for fixed "
+                    + "framing.",
+            defaultValue = "8192", showDefaultValue = Help.Visibility.ALWAYS)
+    private int         frameLength;
+
+    /**
+     * Framing. Defines how the requests are split from the TCP stream.
+     */
+    @Option(names = { "--framing" }, paramLabel = "type",
+            description = "Request framing. One of: ${COMPLETION-CANDIDATES}.", defaultValue = "RAW",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private FramingType framing;
+
+    /**
+     * Length field size, in bytes. Used by the length field framing.
+     */
+    @Option(names = { "--length-field" }, paramLabel = "bytes",
+            description = "Size of the length field for length framing.", defaultValue = "4",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private int         lengthField;
+
+    /**
+     * Default constructor.
+     */
+    public FramingMixin() {
+        super();
+    }
+
+    /**
+     * Returns the framing selected through the options. Each server needs its own framing.
+     *
+     * @return the framing for the requests
+     */
+    public final Framing buildFraming() {
+        final Framing result;
+
+        switch (framing) {
+            case FIXED:
+                result = new FixedLengthFraming(frameLength);
+                break;
+            case LENGTH:
+                result = new LengthFieldFraming(lengthField, frameLength);
+                break;
+            case LINE:
+                result = new LineFraming(frameLength);
+                break;
+            default:
+                result = new RawFraming();
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,132 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import java.io.PrintWriter;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.bernardomg.example.netty.tcp.cli.HandlerExecution;
+
+import lombok.extern.slf4j.Slf4j;
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Handler execution options. Choose where the handler processes the requests, in the event loop or in another thread
+ * pool.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class HandlerExecutionMixin {
+
+    /**
+     * Where the handler processes the requests.
+     */
+    @Option(names = { "--handler-execution" }, paramLabel = "mode",
+            description = "Where requests are processed. One of: ${COMPLETION-CANDIDATES}.",
+            defaultValue = "EVENT_LOOP", showDefaultValue = Help.Visibility.ALWAYS)
+    private HandlerExecution handlerExecution;
+
+    /**
+     * Maximum requests waiting for a thread, when the handler runs on a bounded pool. If zero, the Reactor default is
+     * used.
+     */
+    @Option(names = { "--handler-queue" }, paramLabel = "requests",
+            description = "Requests waiting for a bounded pool thread. If zero, uses the Reactor default.",
+            defaultValue = "0", showDefaultValue = Help.Visibility.ALWAYS)
+    private int              handlerQueue;
+
+    /**
+     * Maximum threads, when the handler runs on a bounded pool. If zero, the Reactor default is used.
+     */
+    @Option(names = { "--handler-threads" }, paramLabel = "threads",
+            description = "Threads in the bounded pool. If zero, uses the Reactor default.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private int              handlerThreads;
+
+    /**
+     * Default constructor.
+     */
+    public HandlerExecutionMixin() {
+        super();
+    }
+
+    /**
+     * Returns the scheduler where the requests are processed, or {@code null} if they are processed in the event loop.
+     * Virtual threads fall back to a bounded pool before Java 21.
+     *
+     * @param writer
+     *            writer for reporting the fallback
+     * @return the scheduler for the requests
+     */
+    public final Scheduler buildScheduler(final PrintWriter writer) {
+        final int       threads;
+        final int       queue;
+        final Scheduler result;
+        ExecutorService executor;
+
+        if (handlerExecution == HandlerExecution.VIRTUAL) {
+            try {
+                // Loaded by reflection, as it is not available before Java 21
+                executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            } catch (final ReflectiveOperationException e) {
+                log.debug("Virtual threads not available", e);
+                writer.printf("Handler execution %s not available, using %s", HandlerExecution.VIRTUAL,
+                    HandlerExecution.BOUNDED);
+                writer.println();
+                executor = null;
+            }
+        } else {
+            executor = null;
+        }
+
+        if (executor != null) {
+            result = Schedulers.fromExecutorService(executor, "handler");
+        } else if (handlerExecution == HandlerExecution.EVENT_LOOP) {
+            result = null;
+        } else {
+            if (handlerThreads > 0) {
+                threads = handlerThreads;
+            } else {
+                threads = Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE;
+            }
+            if (handlerQueue > 0) {
+                queue = handlerQueue;
+            } else {
+                queue = Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE;
+            }
+            result = Schedulers.newBoundedElastic(threads, queue, "handler");
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,81 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import java.time.Duration;
+
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * Idle timeout options. Connections which stop reading or writing for too long are closed.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class IdleTimeoutMixin {
+
+    /**
+     * Seconds without reading after which a connection is closed. Disabled if zero.
+     */
+    @Option(names = { "--read-idle-timeout" }, paramLabel = "seconds",
+            description = "Seconds without reading after which a connection is closed. Disabled if zero.",
+            defaultValue = "0", showDefaultValue = Help.Visibility.ALWAYS)
+    private long readIdleTimeout;
+
+    /**
+     * Seconds without writing after which a connection is closed. Disabled if zero.
+     */
+    @Option(names = { "--write-idle-timeout" }, paramLabel = "seconds",
+            description = "Seconds without writing after which a connection is closed. Disabled if zero.",
+            defaultValue = "0", showDefaultValue = Help.Visibility.ALWAYS)
+    private long writeIdleTimeout;
+
+    /**
+     * Default constructor.
+     */
+    public IdleTimeoutMixin() {
+        super();
+    }
+
+    /**
+     * Returns the time without reading after which a connection is closed. Disabled if zero.
+     *
+     * @return the read idle timeout
+     */
+    public final Duration getReadIdleTimeout() {
+        return Duration.ofSeconds(readIdleTimeout);
+    }
+
+    /**
+     * Returns the time without writing after which a connection is closed. Disabled if zero.
+     *
+     * @return the write idle timeout
+     */
+    public final Duration getWriteIdleTimeout() {
+        return Duration.ofSeconds(writeIdleTimeout);
+    }
+
+}
@@ -0,0 +1,93 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import com.bernardomg.example.netty.tcp.server.TransactionListener;
+import com.bernardomg.example.netty.tcp.server.listener.AsyncTransactionListener;
+import com.bernardomg.example.netty.tcp.server.listener.OverflowPolicy;
+
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * Listener queue options. With a queue, the listener runs in its own thread, and the I/O threads never wait for it
+ * unless told to.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class ListenerQueueMixin {
+
+    /**
+     * What to do when the listener queue is full.
+     */
+    @Option(names = { "--listener-overflow" }, paramLabel = "policy",
+            description = "Policy for events which don't fit in the listener queue. One of: ${COMPLETION-CANDIDATES}.",
+            defaultValue = "BLOCK", showDefaultValue = Help.Visibility.ALWAYS)
+    private OverflowPolicy listenerOverflow;
+
+    /**
+     * Listener queue capacity. If positive, the listener runs in its own thread, reading events from a queue.
+     */
+    @Option(names = { "--listener-queue" }, paramLabel = "events",
+            description = "Capacity of the queue for running the listener in its own thread. Disabled if zero.",
+            defaultValue = "0", showDefaultValue = Help.Visibility.ALWAYS)
+    private int            listenerQueue;
+
+    /**
+     * Listener sample rate. When sampling, one of this number of events is kept.
+     */
+    @Option(names = { "--listener-sample-rate" }, paramLabel = "rate",
+            description = "One of this number of events is kept when sampling.", defaultValue = "10",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private int            listenerSampleRate;
+
+    /**
+     * Default constructor.
+     */
+    public ListenerQueueMixin() {
+        super();
+    }
+
+    /**
+     * Returns the listener running the received one in its own thread, or {@code null} if there is no queue.
+     *
+     * @param listener
+     *            listener to run in its own thread
+     * @return the asynchronous listener
+     */
+    public final AsyncTransactionListener buildListener(final TransactionListener listener) {
+        final AsyncTransactionListener result;
+
+        if (listenerQueue > 0) {
+            result = new AsyncTransactionListener(listener, listenerQueue, listenerOverflow, listenerSampleRate);
+        } else {
+            result = null;
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,107 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import java.io.PrintWriter;
+
+import com.bernardomg.example.netty.tcp.cli.MetricsPrinter;
+import com.bernardomg.example.netty.tcp.server.metrics.MetricsHttpEndpoint;
+import com.bernardomg.example.netty.tcp.server.metrics.ServerMetrics;
+
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * Metrics options. Metrics can be printed periodically, and published through HTTP.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class MetricsMixin {
+
+    /**
+     * Seconds between metrics prints. Disabled if zero.
+     */
+    @Option(names = { "--metrics" }, paramLabel = "seconds",
+            description = "Seconds between metrics prints. Disabled if zero.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private long metricsInterval;
+
+    /**
+     * Port for the metrics HTTP endpoint. Disabled if zero.
+     */
+    @Option(names = { "--metrics-port" }, paramLabel = "port",
+            description = "Port for publishing metrics in the Prometheus format. Disabled if zero.",
+            defaultValue = "0", showDefaultValue = Help.Visibility.ALWAYS)
+    private int  metricsPort;
+
+    /**
+     * Default constructor.
+     */
+    public MetricsMixin() {
+        super();
+    }
+
+    /**
+     * Returns the HTTP endpoint publishing the metrics, or {@code null} if disabled. It is not started.
+     *
+     * @param metrics
+     *            metrics to publish
+     * @return the metrics endpoint
+     */
+    public final MetricsHttpEndpoint buildEndpoint(final ServerMetrics metrics) {
+        final MetricsHttpEndpoint endpoint;
+
+        if (metricsPort > 0) {
+            endpoint = new MetricsHttpEndpoint(metricsPort, metrics);
+        } else {
+            endpoint = null;
+        }
+
+        return endpoint;
+    }
+
+    /**
+     * Returns the printer for the metrics, or {@code null} if disabled. It is not started.
+     *
+     * @param metrics
+     *            metrics to print
+     * @param writer
+     *            writer where the metrics are printed
+     * @return the metrics printer
+     */
+    public final MetricsPrinter buildPrinter(final ServerMetrics metrics, final PrintWriter writer) {
+        final MetricsPrinter printer;
+
+        if (metricsInterval > 0) {
+            printer = new MetricsPrinter(metrics, writer, metricsInterval);
+        } else {
+            printer = null;
+        }
+
+        return printer;
+    }
+
+}
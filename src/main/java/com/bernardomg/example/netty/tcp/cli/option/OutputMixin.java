@@ -0,0 +1,148 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+import com.bernardomg.example.netty.tcp.cli.output.BufferedEventWriter;
+import com.bernardomg.example.netty.tcp.cli.output.ChannelEventSink;
+import com.bernardomg.example.netty.tcp.cli.output.EventSink;
+import com.bernardomg.example.netty.tcp.cli.output.MappedFileEventSink;
+import com.bernardomg.example.netty.tcp.cli.output.RollingEventSink;
+
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * Event output options. Events can be written in batches, into the console or into a file.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class OutputMixin {
+
+    /**
+     * Characters buffered by the event writer before writing them.
+     */
+    private static final int  OUTPUT_BATCH = 64 * 1024;
+
+    /**
+     * Milliseconds between periodic writes of the event writer.
+     */
+    private static final long OUTPUT_INTERVAL = 200;
+
+    /**
+     * Buffered output flag. If active, events are printed in batches.
+     */
+    @Option(names = { "--output-buffered" }, paramLabel = "flag",
+            description = "Print events in batches, through a buffer. Always active when writing into a file.",
+            defaultValue = "false", showDefaultValue = Help.Visibility.ALWAYS)
+    private boolean           outputBuffered;
+
+    /**
+     * Output file. If set, events are written into it instead of the console.
+     */
+    @Option(names = { "--output-file" }, paramLabel = "file",
+            description = "File where events are written, instead of the console.")
+    private Path              outputFile;
+
+    /**
+     * Memory mapped output flag. If active, the output file is memory mapped.
+     */
+    @Option(names = { "--output-mmap" }, paramLabel = "flag", description = "Memory map the output file.",
+            defaultValue = "false", showDefaultValue = Help.Visibility.ALWAYS)
+    private boolean           outputMmap;
+
+    /**
+     * Size from which the output file is rolled. Disabled if zero.
+     */
+    @Option(names = { "--output-roll-size" }, paramLabel = "bytes",
+            description = "Size from which the output file is rolled. Disabled if zero.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private long              outputRollSize;
+
+    /**
+     * Default constructor.
+     */
+    public OutputMixin() {
+        super();
+    }
+
+    /**
+     * Returns the writer for printing the events in batches, into the sink selected through the options.
+     *
+     * @param port
+     *            port the server listens to
+     * @return the event writer
+     */
+    public final BufferedEventWriter buildWriter(final Integer port) {
+        return new BufferedEventWriter(port, buildSink(), OUTPUT_BATCH, OUTPUT_INTERVAL);
+    }
+
+    /**
+     * Returns if the events are written in batches. This is always the case when writing into a file, otherwise only
+     * if the output is buffered and the events are printed.
+     *
+     * @param printing
+     *            printing flag, active if the events may be printed
+     * @return {@code true} if the events are written in batches, {@code false} otherwise
+     */
+    public final boolean isBuffered(final boolean printing) {
+        return (outputFile != null) || (printing && outputBuffered);
+    }
+
+    /**
+     * Returns the event sink selected through the options. If there is no output file, the events go to the console.
+     *
+     * @return the sink for the events
+     */
+    private final EventSink buildSink() {
+        final Function<Path, EventSink> factory;
+        final EventSink                 result;
+
+        if (outputFile == null) {
+            // Writes straight into the standard output, which is never closed
+            result = new ChannelEventSink(new FileOutputStream(FileDescriptor.out).getChannel(), false);
+        } else {
+            if (outputMmap) {
+                factory = MappedFileEventSink::new;
+            } else {
+                factory = ChannelEventSink::ofFile;
+            }
+
+            if (outputRollSize > 0) {
+                result = new RollingEventSink(outputFile, outputRollSize, factory);
+            } else {
+                result = factory.apply(outputFile);
+            }
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,139 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import com.bernardomg.example.netty.tcp.cli.ConfigFileOptions;
+import com.bernardomg.example.netty.tcp.server.channel.RateLimitPolicy;
+import com.bernardomg.example.netty.tcp.server.channel.RateLimits;
+
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * Rate limit options. Limits are applied to each connection and to all of them together. These options can be
+ * reloaded from the config file.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class RateLimitMixin {
+
+    /**
+     * Bytes per second each connection can receive. Unlimited if zero.
+     */
+    @Option(names = { "--connection-byte-rate" }, paramLabel = "bytes",
+            description = "Bytes per second each connection can receive. Unlimited if zero.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private long            connectionByteRate;
+
+    /**
+     * Messages per second each connection can receive. Unlimited if zero.
+     */
+    @Option(names = { "--connection-message-rate" }, paramLabel = "messages",
+            description = "Messages per second each connection can receive. Unlimited if zero.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private long            connectionMessageRate;
+
+    /**
+     * Bytes per second all the connections together can receive. Unlimited if zero.
+     */
+    @Option(names = { "--global-byte-rate" }, paramLabel = "bytes",
+            description = "Bytes per second all the connections can receive. Unlimited if zero.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private long            globalByteRate;
+
+    /**
+     * Messages per second all the connections together can receive. Unlimited if zero.
+     */
+    @Option(names = { "--global-message-rate" }, paramLabel = "messages",
+            description = "Messages per second all the connections can receive. Unlimited if zero.",
+            defaultValue = "0", showDefaultValue = Help.Visibility.ALWAYS)
+    private long            globalMessageRate;
+
+    /**
+     * What to do with messages over the rate limits.
+     */
+    @Option(names = { "--rate-limit-policy" }, paramLabel = "policy",
+            description = "Policy for messages over the rate limits. One of: ${COMPLETION-CANDIDATES}.",
+            defaultValue = "PAUSE", showDefaultValue = Help.Visibility.ALWAYS)
+    private RateLimitPolicy rateLimitPolicy;
+
+    /**
+     * Default constructor.
+     */
+    public RateLimitMixin() {
+        super();
+    }
+
+    /**
+     * Returns the rate limits selected through the options.
+     *
+     * @return the rate limits
+     */
+    public final RateLimits buildRateLimits() {
+        return buildRateLimits(connectionMessageRate, connectionByteRate, globalMessageRate, globalByteRate,
+            rateLimitPolicy);
+    }
+
+    /**
+     * Returns the rate limits read again from the config file.
+     *
+     * @param options
+     *            option values after reading the config file
+     * @return the rate limits
+     */
+    public static final RateLimits readRateLimits(final ConfigFileOptions options) {
+        return buildRateLimits(options.getValue("--connection-message-rate"),
+            options.getValue("--connection-byte-rate"), options.getValue("--global-message-rate"),
+            options.getValue("--global-byte-rate"), options.getValue("--rate-limit-policy"));
+    }
+
+    /**
+     * Returns the rate limits for the received values.
+     *
+     * @param connMessages
+     *            messages per second for each connection
+     * @param connBytes
+     *            bytes per second for each connection
+     * @param globalMessages
+     *            messages per second for all the connections
+     * @param globalBytes
+     *            bytes per second for all the connections
+     * @param policy
+     *            what to do with the messages over the limits
+     * @return the rate limits
+     */
+    private static final RateLimits buildRateLimits(final long connMessages, final long connBytes,
+            final long globalMessages, final long globalBytes, final RateLimitPolicy policy) {
+        return RateLimits.builder()
+            .connectionMessageRate(connMessages)
+            .connectionByteRate(connBytes)
+            .globalMessageRate(globalMessages)
+            .globalByteRate(globalBytes)
+            .policy(policy)
+            .build();
+    }
+
+}
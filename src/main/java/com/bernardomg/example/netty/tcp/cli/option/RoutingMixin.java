@@ -0,0 +1,86 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import java.nio.file.Path;
+
+import com.bernardomg.example.netty.tcp.server.routing.RoutingRulesReader;
+import com.bernardomg.example.netty.tcp.server.routing.RoutingTable;
+
+import picocli.CommandLine.Option;
+
+/**
+ * Routing options. With routing rules, the response is chosen for each request.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class RoutingMixin {
+
+    /**
+     * Routing rules file. If set, the responses are chosen by these rules, and the response option becomes the default
+     * for unmatched requests.
+     */
+    @Option(names = { "--routes" }, paramLabel = "file",
+            description = "File with routing rules. The response option is used for unmatched requests.")
+    private Path routes;
+
+    /**
+     * Default constructor.
+     */
+    public RoutingMixin() {
+        super();
+    }
+
+    /**
+     * Returns the routing table for the rules in the file.
+     *
+     * @param response
+     *            default response for unmatched requests, may be {@code null}
+     * @return the routing table
+     */
+    public final RoutingTable buildTable(final String response) {
+        return new RoutingTable(new RoutingRulesReader(routes).read(), response);
+    }
+
+    /**
+     * Returns the routing rules file, or {@code null} if there is none.
+     *
+     * @return the routing rules file
+     */
+    public final Path getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Returns if the responses are routed.
+     *
+     * @return {@code true} if there is a routing rules file, {@code false} otherwise
+     */
+    public final boolean isEnabled() {
+        return routes != null;
+    }
+
+}
@@ -0,0 +1,64 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import java.time.Duration;
+
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * Shutdown options. When stopping, the open connections are given some time to finish.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class ShutdownMixin {
+
+    /**
+     * Maximum time to wait for the connections to finish when stopping.
+     */
+    @Option(names = { "--shutdown-timeout" }, paramLabel = "seconds",
+            description = "Time to let connections finish when stopping, before closing them by force.",
+            defaultValue = "10", showDefaultValue = Help.Visibility.ALWAYS)
+    private long shutdownTimeout;
+
+    /**
+     * Default constructor.
+     */
+    public ShutdownMixin() {
+        super();
+    }
+
+    /**
+     * Returns the maximum time to wait for the connections to finish when stopping.
+     *
+     * @return the shutdown timeout
+     */
+    public final Duration getShutdownTimeout() {
+        return Duration.ofSeconds(shutdownTimeout);
+    }
+
+}
@@ -0,0 +1,128 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import com.bernardomg.example.netty.tcp.server.ServerOptions;
+
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * Socket options. Sizes which are not set are left to the system default.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class SocketMixin {
+
+    /**
+     * Maximum number of pending connections waiting to be accepted. If zero, the system default is used.
+     */
+    @Option(names = { "--backlog" }, paramLabel = "connections",
+            description = "Pending connections waiting to be accepted. If zero, uses the system default.",
+            defaultValue = "0", showDefaultValue = Help.Visibility.ALWAYS)
+    private int     backlog;
+
+    /**
+     * Socket receive buffer size. If zero, the system default is used.
+     */
+    @Option(names = { "--receive-buffer" }, paramLabel = "bytes",
+            description = "Socket receive buffer size. If zero, uses the system default.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private int     receiveBuffer;
+
+    /**
+     * Reuse address flag. Allows binding to an address in the TIME_WAIT state.
+     */
+    @Option(names = { "--reuse-address" }, paramLabel = "flag", description = "Enable SO_REUSEADDR.",
+            defaultValue = "true", showDefaultValue = Help.Visibility.ALWAYS)
+    private boolean reuseAddress;
+
+    /**
+     * Reuse port flag. Allows several sockets to bind to the same port.
+     */
+    @Option(names = { "--reuse-port" }, paramLabel = "flag", description = "Enable SO_REUSEPORT.",
+            defaultValue = "false")
+    private boolean reusePort;
+
+    /**
+     * Socket send buffer size. If zero, the system default is used.
+     */
+    @Option(names = { "--send-buffer" }, paramLabel = "bytes",
+            description = "Socket send buffer size. If zero, uses the system default.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private int     sendBuffer;
+
+    /**
+     * TCP no delay flag. Disables Nagle's algorithm, so small messages are sent without waiting.
+     */
+    @Option(names = { "--tcp-no-delay" }, paramLabel = "flag", description = "Enable TCP_NODELAY.",
+            defaultValue = "true", showDefaultValue = Help.Visibility.ALWAYS)
+    private boolean tcpNoDelay;
+
+    /**
+     * Pending outbound bytes from which a connection stops being writable.
+     */
+    @Option(names = { "--write-buffer-high" }, paramLabel = "bytes",
+            description = "Pending outbound bytes from which a connection stops being writable.",
+            defaultValue = "65536", showDefaultValue = Help.Visibility.ALWAYS)
+    private int     writeBufferHigh;
+
+    /**
+     * Pending outbound bytes below which a connection becomes writable again.
+     */
+    @Option(names = { "--write-buffer-low" }, paramLabel = "bytes",
+            description = "Pending outbound bytes below which a connection becomes writable again.",
+            defaultValue = "32768", showDefaultValue = Help.Visibility.ALWAYS)
+    private int     writeBufferLow;
+
+    /**
+     * Default constructor.
+     */
+    public SocketMixin() {
+        super();
+    }
+
+    /**
+     * Returns a copy of the server options with the socket options applied.
+     *
+     * @param options
+     *            server options to copy
+     * @return the server options with the socket options
+     */
+    public final ServerOptions apply(final ServerOptions options) {
+        return options.toBuilder()
+            .backlog(backlog)
+            .receiveBuffer(receiveBuffer)
+            .reuseAddress(reuseAddress)
+            .reusePort(reusePort)
+            .sendBuffer(sendBuffer)
+            .tcpNoDelay(tcpNoDelay)
+            .writeBufferHigh(writeBufferHigh)
+            .writeBufferLow(writeBufferLow)
+            .build();
+    }
+
+}
@@ -0,0 +1,120 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import com.bernardomg.example.netty.tcp.server.tls.TlsOptions;
+
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * TLS options. The server uses TLS when the certificate chain is set, along with its private key.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class TlsMixin {
+
+    /**
+     * TLS certificate chain file. If set, the server uses TLS.
+     */
+    @Option(names = { "--tls-certificate" }, paramLabel = "file",
+            description = "Certificate chain, in PEM format. Enables TLS, along with the key.")
+    private Path    tlsCertificate;
+
+    /**
+     * TLS private key file.
+     */
+    @Option(names = { "--tls-key" }, paramLabel = "file", description = "Private key, in PKCS#8 PEM format.")
+    private Path    tlsKey;
+
+    /**
+     * Password for the TLS private key.
+     */
+    @Option(names = { "--tls-key-password" }, paramLabel = "password",
+            description = "Password for the private key, if it is encrypted.")
+    private String  tlsKeyPassword;
+
+    /**
+     * Maximum number of TLS sessions kept for resumption. If zero, the provider default is used.
+     */
+    @Option(names = { "--tls-session-cache" }, paramLabel = "sessions",
+            description = "TLS sessions kept for resumption. If zero, uses the provider default.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private long    tlsSessionCache;
+
+    /**
+     * TLS session tickets flag.
+     */
+    @Option(names = { "--tls-session-tickets" }, paramLabel = "flag",
+            description = "Enable TLS session tickets, for resuming sessions without the cache.", defaultValue = "true",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private boolean tlsSessionTickets;
+
+    /**
+     * Time a TLS session can be resumed. If zero, the provider default is used.
+     */
+    @Option(names = { "--tls-session-timeout" }, paramLabel = "seconds",
+            description = "Time a TLS session can be resumed. If zero, uses the provider default.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private int     tlsSessionTimeout;
+
+    /**
+     * Default constructor.
+     */
+    public TlsMixin() {
+        super();
+    }
+
+    /**
+     * Returns the TLS options, or {@code null} if TLS is not enabled.
+     *
+     * @return the TLS options
+     */
+    public final TlsOptions buildTlsOptions() {
+        final TlsOptions result;
+
+        if (tlsCertificate == null) {
+            result = null;
+        } else if (tlsKey == null) {
+            throw new IllegalArgumentException("TLS requires a private key along with the certificate");
+        } else {
+            result = TlsOptions.builder()
+                .certificate(tlsCertificate)
+                .privateKey(tlsKey)
+                .keyPassword(tlsKeyPassword)
+                .sessionCacheSize(tlsSessionCache)
+                .sessionTimeout(Duration.ofSeconds(tlsSessionTimeout))
+                .sessionTickets(tlsSessionTickets)
+                .build();
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,118 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import java.io.PrintWriter;
+
+import com.bernardomg.example.netty.tcp.server.transport.Transport;
+import com.bernardomg.example.netty.tcp.server.transport.TransportLoopResources;
+
+import picocli.CommandLine.Help;
+import picocli.CommandLine.Option;
+
+/**
+ * Transport options. Choose the network transport, and the sockets and threads accepting and handling connections.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class TransportMixin {
+
+    /**
+     * Number of sockets bound to the port with SO_REUSEPORT. The kernel balances the connections between them.
+     */
+    @Option(names = { "--acceptors" }, paramLabel = "sockets",
+            description = "Sockets bound to the port with SO_REUSEPORT. Above 1, the kernel balances connections.",
+            defaultValue = "1", showDefaultValue = Help.Visibility.ALWAYS)
+    private int       acceptors;
+
+    /**
+     * Number of threads accepting connections. If zero, connections are accepted by the worker threads, unless there
+     * are several acceptors. In that case there is a thread for each acceptor.
+     */
+    @Option(names = { "--select-threads" }, paramLabel = "threads",
+            description = "Threads accepting connections. If zero, one per acceptor, or the workers for a single one.",
+            defaultValue = "0", showDefaultValue = Help.Visibility.ALWAYS)
+    private int       selectThreads;
+
+    /**
+     * Network transport. Native transports fall back to NIO when not available.
+     */
+    @Option(names = { "--transport" }, paramLabel = "transport",
+            description = "Network transport, falls back to NIO if not available. One of: ${COMPLETION-CANDIDATES}.",
+            defaultValue = "AUTO", showDefaultValue = Help.Visibility.ALWAYS)
+    private Transport transport;
+
+    /**
+     * Number of threads handling the connections I/O. If zero, the Reactor Netty default is used.
+     */
+    @Option(names = { "--worker-threads" }, paramLabel = "threads",
+            description = "Threads handling I/O. If zero, uses the Reactor Netty default.", defaultValue = "0",
+            showDefaultValue = Help.Visibility.ALWAYS)
+    private int       workerThreads;
+
+    /**
+     * Default constructor.
+     */
+    public TransportMixin() {
+        super();
+    }
+
+    /**
+     * Returns the event loops for the selected transport. If the transport is not available, the fallback is reported.
+     *
+     * @param writer
+     *            writer for reporting the fallback
+     * @return the event loops
+     */
+    public final TransportLoopResources buildLoops(final PrintWriter writer) {
+        final int                    selects;
+        final TransportLoopResources loops;
+
+        if ((selectThreads == 0) && (acceptors > 1)) {
+            // Each acceptor gets its own loop
+            selects = acceptors;
+        } else {
+            selects = selectThreads;
+        }
+        loops = new TransportLoopResources(transport, selects, workerThreads);
+        if ((transport != Transport.AUTO) && (transport != loops.getTransport())) {
+            writer.printf("Transport %s not available, using %s", transport, loops.getTransport());
+            writer.println();
+        }
+
+        return loops;
+    }
+
+    /**
+     * Returns the number of sockets bound to the port.
+     *
+     * @return the number of acceptors
+     */
+    public final int getAcceptors() {
+        return acceptors;
+    }
+
+}
@@ -0,0 +1,92 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.option;
+
+import com.bernardomg.example.netty.tcp.server.BufferListenAndAnswerIoHandler;
+import com.bernardomg.example.netty.tcp.server.BufferSinkIoHandler;
+import com.bernardomg.example.netty.tcp.server.BufferTransactionListener;
+import com.bernardomg.example.netty.tcp.server.IoHandler;
+import com.bernardomg.example.netty.tcp.server.ListenAndAnswerIoHandler;
+import com.bernardomg.example.netty.tcp.server.SinkIoHandler;
+import com.bernardomg.example.netty.tcp.server.TransactionListener;
+
+import picocli.CommandLine.Option;
+
+/**
+ * Zero copy options. With zero copy, the requests are handled as buffers.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class ZeroCopyMixin {
+
+    /**
+     * Zero copy flag. If active requests are handled as buffers, and never decoded unless printed.
+     */
+    @Option(names = { "--zero-copy" }, paramLabel = "flag",
+            description = "Handle messages as buffers, without decoding them.", defaultValue = "false")
+    private boolean zeroCopy;
+
+    /**
+     * Default constructor.
+     */
+    public ZeroCopyMixin() {
+        super();
+    }
+
+    /**
+     * Returns the I/O handler which answers the requests with the response, or sinks them if there is no response.
+     * With zero copy, the handler works with buffers.
+     *
+     * @param response
+     *            response to send back, may be {@code null}
+     * @param listener
+     *            transaction listener for the handlers working with decoded messages
+     * @param bufferListener
+     *            buffer listener for the handlers working with buffers
+     * @return the I/O handler for the requests
+     */
+    public final IoHandler buildHandler(final String response, final TransactionListener listener,
+            final BufferTransactionListener bufferListener) {
+        final IoHandler handler;
+
+        if (zeroCopy) {
+            if (response == null) {
+                // Missing response, will just sink requests
+                handler = new BufferSinkIoHandler(bufferListener);
+            } else {
+                handler = new BufferListenAndAnswerIoHandler(response, bufferListener);
+            }
+        } else if (response == null) {
+            // Missing response, will just sink requests
+            handler = new SinkIoHandler(listener);
+        } else {
+            handler = new ListenAndAnswerIoHandler(response, listener);
+        }
+
+        return handler;
+    }
+
+}
@@ -0,0 +1,436 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.output;
+
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.bernardomg.example.netty.tcp.server.TransactionListener;
+import com.bernardomg.example.netty.tcp.server.metrics.ConnectionSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transaction listener which writes each step into an {@link EventSink}, in batches. It keeps the same information as
+ * the {@link com.bernardomg.example.netty.tcp.cli.TransactionPrinterListener}, with a line for each event.
+ * <p>
+ * Events are appended into a reusable text buffer, without formatting patterns. When the buffer reaches the batch size
+ * it is handed to the {@code event-writer} thread, and a spare buffer takes its place. That thread encodes the batches
+ * into a reusable byte buffer and writes them into the sink, outside the lock, so the threads adding events never wait
+ * for the sink. They only wait when the sink falls behind by {@value #MAX_PENDING_BATCHES} batches. The current batch
+ * is also handed over periodically, so events don't wait for a full batch when the traffic is low.
+ * <p>
+ * The listener is thread safe, events from all the connections go into the same buffer.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class BufferedEventWriter implements TransactionListener, AutoCloseable {
+
+    /**
+     * Full batches which can wait for the writer thread before the threads adding events wait for it.
+     */
+    private static final int           MAX_PENDING_BATCHES = 4;
+
+    /**
+     * Seconds to wait for the writer thread to write the pending batches when stopping.
+     */
+    private static final long          STOP_TIMEOUT        = 5;
+
+    /**
+     * Characters in the text buffer from which a batch is written.
+     */
+    private final int                  batchSize;
+
+    /**
+     * Encoded bytes, waiting to be written into the sink. Only used by the thread writing the batches.
+     */
+    private final ByteBuffer           bytes;
+
+    /**
+     * Encoder for the text buffers. Only used by the thread writing the batches.
+     */
+    private final CharsetEncoder       encoder             = StandardCharsets.UTF_8.newEncoder();
+
+    /**
+     * Executor writing the batches. Batches are written by the calling thread while it is not running.
+     */
+    private ScheduledExecutorService   executor;
+
+    /**
+     * Milliseconds between periodic writes.
+     */
+    private final long                 flushInterval;
+
+    /**
+     * Batches waiting to be written, in order.
+     */
+    private final Deque<StringBuilder> pending             = new ArrayDeque<>();
+
+    /**
+     * Port which the server will listen to.
+     */
+    private final Integer              port;
+
+    /**
+     * Sink where the batches are written.
+     */
+    private final EventSink            sink;
+
+    /**
+     * Written batches, kept to be reused as text buffers.
+     */
+    private final Deque<StringBuilder> spare               = new ArrayDeque<>();
+
+    /**
+     * Events waiting to be added to a batch.
+     */
+    private StringBuilder              text;
+
+    /**
+     * Constructs a writer for the sink.
+     *
+     * @param prt
+     *            port which the server will listen to
+     * @param snk
+     *            sink where the events are written
+     * @param batch
+     *            characters from which a batch is written
+     * @param interval
+     *            milliseconds between periodic writes
+     */
+    public BufferedEventWriter(final Integer prt, final EventSink snk, final int batch, final long interval) {
+        super();
+
+        if (batch <= 0) {
+            throw new IllegalArgumentException("Batch size should be positive, received " + batch);
+        }
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Interval should be positive, received " + interval);
+        }
+
+        port = Objects.requireNonNull(prt);
+        sink = Objects.requireNonNull(snk);
+        batchSize = batch;
+        flushInterval = interval;
+
+        text = newText();
+        bytes = ByteBuffer.allocateDirect(batchSize * 2);
+    }
+
+    /**
+     * Writes the pending events, and closes the sink.
+     */
+    @Override
+    public final void close() {
+        stopWriter();
+
+        synchronized (this) {
+            submit();
+            sink.close();
+        }
+    }
+
+    @Override
+    public final synchronized void onConnect(final ConnectionSnapshot connection) {
+        text.append("Client ")
+            .append(connection.getId())
+            .append(" connected from ")
+            .append(connection.getRemoteAddress());
+        endEvent();
+    }
+
+    @Override
+    public final synchronized void onDisconnect(final ConnectionSnapshot connection) {
+        text.append("Client ")
+            .append(connection.getId())
+            .append(" disconnected after ")
+            .append(TimeUnit.NANOSECONDS.toMillis(connection.getDuration()))
+            .append(" ms | Requests: ")
+            .append(connection.getRequests())
+            .append(" | Responses: ")
+            .append(connection.getResponses())
+            .append(" | Traffic: in ")
+            .append(connection.getBytesIn())
+            .append(" bytes, out ")
+            .append(connection.getBytesOut())
+            .append(" bytes");
+        endEvent();
+    }
+
+    @Override
+    public final synchronized void onRequest(final String message) {
+        if (message.isEmpty()) {
+            text.append("Received no request");
+        } else {
+            text.append("Received request: ")
+                .append(message);
+        }
+        endEvent();
+    }
+
+    @Override
+    public final synchronized void onResponse(final String message) {
+        if (message.isEmpty()) {
+            text.append("Sent no response");
+        } else {
+            text.append("Sent response: ")
+                .append(message);
+        }
+        endEvent();
+    }
+
+    @Override
+    public final void onStart() {
+        final ScheduledExecutorService writer;
+
+        writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread;
+
+            thread = new Thread(runnable, "event-writer");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        writer.scheduleWithFixedDelay(this::flushPeriodically, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+
+        synchronized (this) {
+            executor = writer;
+            text.append("Starting connection and listening to port ")
+                .append(port);
+            endEvent();
+        }
+    }
+
+    @Override
+    public final void onStop() {
+        synchronized (this) {
+            text.append("Stopping connection");
+            endEvent();
+        }
+
+        stopWriter();
+
+        synchronized (this) {
+            submit();
+        }
+    }
+
+    /**
+     * Waits until the writer thread has room for another batch. Should be called holding the lock.
+     */
+    private final void awaitRoom() {
+        try {
+            while ((pending.size() >= MAX_PENDING_BATCHES) && (executor != null) && !executor.isShutdown()) {
+                wait();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+        }
+    }
+
+    /**
+     * Ends the current event, and hands the batch to the writer if it is full. Should be called holding the lock.
+     */
+    private final void endEvent() {
+        text.append(System.lineSeparator());
+        if (text.length() >= batchSize) {
+            awaitRoom();
+            submit();
+        }
+    }
+
+    /**
+     * Encodes a batch and writes it into the sink. Errors are logged, and the batch discarded, so a failing sink
+     * doesn't stop the server.
+     *
+     * @param batch
+     *            batch to write
+     */
+    private final void flush(final StringBuilder batch) {
+        final CharBuffer chars;
+        CoderResult      result;
+
+        chars = CharBuffer.wrap(batch);
+        encoder.reset();
+        try {
+            do {
+                result = encoder.encode(chars, bytes, true);
+                if (result.isOverflow()) {
+                    writeBytes();
+                }
+            } while (result.isOverflow());
+            encoder.flush(bytes);
+            writeBytes();
+        } catch (final UncheckedIOException e) {
+            log.error("Failed writing events", e);
+            bytes.clear();
+        }
+    }
+
+    /**
+     * Hands the current batch to the writer. Called by the executor.
+     */
+    private final void flushPeriodically() {
+        synchronized (this) {
+            if (text.length() > 0) {
+                pending.add(text);
+                text = nextText();
+            }
+        }
+
+        writePending();
+    }
+
+    /**
+     * Returns a new text buffer.
+     *
+     * @return a new text buffer
+     */
+    private final StringBuilder newText() {
+        // Room for a full batch, and for the last event added to it
+        return new StringBuilder(batchSize * 2);
+    }
+
+    /**
+     * Returns the next batch to write, and recycles the previous one.
+     *
+     * @param written
+     *            batch just written, or {@code null} if there is none
+     * @return the next batch to write, or {@code null} if there is none
+     */
+    private final synchronized StringBuilder nextPending(final StringBuilder written) {
+        if (written != null) {
+            written.setLength(0);
+            spare.add(written);
+            notifyAll();
+        }
+
+        return pending.poll();
+    }
+
+    /**
+     * Returns the next text buffer, reusing a written batch if possible. Should be called holding the lock.
+     *
+     * @return the next text buffer
+     */
+    private final StringBuilder nextText() {
+        final StringBuilder next;
+
+        if (spare.isEmpty()) {
+            next = newText();
+        } else {
+            next = spare.poll();
+        }
+
+        return next;
+    }
+
+    /**
+     * Stops the writer thread, waiting for it to write the pending batches.
+     */
+    private final void stopWriter() {
+        final ScheduledExecutorService writer;
+
+        synchronized (this) {
+            writer = executor;
+        }
+
+        if (writer != null) {
+            writer.shutdown();
+            try {
+                if (!writer.awaitTermination(STOP_TIMEOUT, TimeUnit.SECONDS)) {
+                    log.warn("Event writer didn't finish writing in {} seconds", STOP_TIMEOUT);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread()
+                    .interrupt();
+            }
+
+            synchronized (this) {
+                executor = null;
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Hands the current batch to the writer. If the writer isn't running, the batches are written by the calling
+     * thread. Should be called holding the lock.
+     */
+    private final void submit() {
+        if (text.length() > 0) {
+            pending.add(text);
+            text = nextText();
+        }
+
+        if (executor == null) {
+            writePending();
+        } else {
+            try {
+                executor.execute(this::writePending);
+            } catch (final RejectedExecutionException e) {
+                // Stopping, the batch is written once the writer finishes
+                log.trace("Event writer stopping, batch kept until it finishes");
+            }
+        }
+    }
+
+    /**
+     * Writes the encoded bytes into the sink.
+     */
+    private final void writeBytes() {
+        bytes.flip();
+        sink.write(bytes);
+        bytes.clear();
+    }
+
+    /**
+     * Writes all the pending batches, without holding the lock while writing them.
+     */
+    private final void writePending() {
+        StringBuilder batch;
+
+        batch = nextPending(null);
+        while (batch != null) {
+            flush(batch);
+            batch = nextPending(batch);
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.output;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Event sink writing into a channel. This can be a file, or the console.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class ChannelEventSink implements EventSink {
+
+    /**
+     * Opens a sink appending to a file. The file is created if it doesn't exist.
+     *
+     * @param path
+     *            file to write
+     * @return a sink writing into the file
+     */
+    public static final ChannelEventSink ofFile(final Path path) {
+        final FileChannel file;
+
+        try {
+            file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new ChannelEventSink(file, true);
+    }
+
+    /**
+     * Channel where the events are written.
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * Close flag. If active, the channel is closed along the sink.
+     */
+    private final boolean             closeChannel;
+
+    /**
+     * Constructs a sink writing into the channel.
+     *
+     * @param chnl
+     *            channel where the events are written
+     * @param close
+     *            close the channel along the sink
+     */
+    public ChannelEventSink(final WritableByteChannel chnl, final boolean close) {
+        super();
+
+        channel = Objects.requireNonNull(chnl);
+        closeChannel = close;
+    }
+
+    @Override
+    public final void close() {
+        if (closeChannel) {
+            try {
+                channel.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public final void write(final ByteBuffer data) {
+        try {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.output;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Destination for encoded events. Receives the events in batches, already encoded into bytes.
+ * <p>
+ * Sinks are not thread safe, the writer using them should take care of this.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public interface EventSink extends AutoCloseable {
+
+    /**
+     * Closes the sink, making sure all the data written reaches its destination.
+     */
+    @Override
+    public void close();
+
+    /**
+     * Writes all the remaining bytes in the buffer.
+     *
+     * @param data
+     *            bytes to write
+     */
+    public void write(final ByteBuffer data);
+
+}
@@ -0,0 +1,149 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.output;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Event sink writing into a memory mapped file. The file is mapped in regions, and a new region is mapped after the
+ * last one when it is full. Writing is just a copy into memory, and the OS takes care of moving the pages to disk.
+ * <p>
+ * The file is truncated to the bytes written when closing the sink. Existing contents are replaced.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class MappedFileEventSink implements EventSink {
+
+    /**
+     * Default size of each mapped region, in bytes.
+     */
+    public static final int   DEFAULT_REGION_SIZE = 8 * 1024 * 1024;
+
+    /**
+     * File being written.
+     */
+    private final FileChannel file;
+
+    /**
+     * Region currently being written.
+     */
+    private MappedByteBuffer  region;
+
+    /**
+     * Size of each mapped region, in bytes.
+     */
+    private final int         regionSize;
+
+    /**
+     * Position in the file where the current region starts.
+     */
+    private long              regionStart;
+
+    /**
+     * Constructs a sink writing into the file, mapping regions of the default size.
+     *
+     * @param path
+     *            file to write
+     */
+    public MappedFileEventSink(final Path path) {
+        this(path, DEFAULT_REGION_SIZE);
+    }
+
+    /**
+     * Constructs a sink writing into the file.
+     *
+     * @param path
+     *            file to write
+     * @param size
+     *            size of each mapped region, in bytes
+     */
+    public MappedFileEventSink(final Path path, final int size) {
+        super();
+
+        if (size <= 0) {
+            throw new IllegalArgumentException("Region size should be positive, received " + size);
+        }
+
+        regionSize = size;
+        try {
+            file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            region = file.map(MapMode.READ_WRITE, 0, regionSize);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        regionStart = 0;
+    }
+
+    @Override
+    public final void close() {
+        try {
+            region.force();
+            // Removes the unused part of the last region
+            file.truncate(regionStart + region.position());
+            file.close();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public final void write(final ByteBuffer data) {
+        final int limit;
+
+        limit = data.limit();
+        while (data.hasRemaining()) {
+            if (!region.hasRemaining()) {
+                mapNextRegion();
+            }
+
+            // Copies as much as fits in the region
+            data.limit(data.position() + Math.min(data.remaining(), region.remaining()));
+            region.put(data);
+            data.limit(limit);
+        }
+    }
+
+    /**
+     * Maps the region after the current one.
+     */
+    private final void mapNextRegion() {
+        regionStart += region.capacity();
+        try {
+            region = file.map(MapMode.READ_WRITE, regionStart, regionSize);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.cli.output;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Event sink which rolls the file it writes to when it reaches a size. Rolled files are kept next to the original one,
+ * with an increasing index as suffix.
+ * <p>
+ * The size is only checked between batches, so files can go over it by the size of a batch.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class RollingEventSink implements EventSink {
+
+    /**
+     * Sink for the current file.
+     */
+    private EventSink                       current;
+
+    /**
+     * Creates the sink for each file.
+     */
+    private final Function<Path, EventSink> factory;
+
+    /**
+     * Maximum file size, in bytes.
+     */
+    private final long                      maxSize;
+
+    /**
+     * File being written.
+     */
+    private final Path                      path;
+
+    /**
+     * Index for the next rolled file.
+     */
+    private int                             rolled;
+
+    /**
+     * Bytes written into the current file.
+     */
+    private long                            written;
+
+    /**
+     * Constructs a sink rolling the file when it reaches the size.
+     *
+     * @param pth
+     *            file to write
+     * @param max
+     *            maximum file size, in bytes
+     * @param fctry
+     *            creates the sink for each file
+     */
+    public RollingEventSink(final Path pth, final long max, final Function<Path, EventSink> fctry) {
+        super();
+
+        if (max <= 0) {
+            throw new IllegalArgumentException("Maximum size should be positive, received " + max);
+        }
+
+        path = Objects.requireNonNull(pth);
+        maxSize = max;
+        factory = Objects.requireNonNull(fctry);
+
+        current = factory.apply(path);
+        rolled = 1;
+        written = 0;
+    }
+
+    @Override
+    public final void close() {
+        current.close();
+    }
+
+    @Override
+    public final void write(final ByteBuffer data) {
+        if (written >= maxSize) {
+            roll();
+        }
+
+        written += data.remaining();
+        current.write(data);
+    }
+
+    /**
+     * Moves the current file aside, and starts a new one.
+     */
+    private final void roll() {
+        current.close();
+        try {
+            Files.move(path, path.resolveSibling(path.getFileName() + "." + rolled),
+                StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        rolled++;
+
+        current = factory.apply(path);
+        written = 0;
+    }
+
+}
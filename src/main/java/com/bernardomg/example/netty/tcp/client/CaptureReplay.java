@@ -0,0 +1,355 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.bernardomg.example.netty.tcp.server.capture.CaptureReader;
+import com.bernardomg.example.netty.tcp.server.capture.CaptureRecord;
+
+import io.netty.buffer.Unpooled;
+import io.netty.channel.Channel;
+import io.netty.channel.socket.DuplexChannel;
+import io.netty.resolver.DefaultAddressResolverGroup;
+import io.netty.util.AttributeKey;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.resources.LoopResources;
+import reactor.netty.tcp.TcpClient;
+
+/**
+ * Replays a captured traffic against a server. Each captured connection is opened again, and the bytes the clients sent
+ * are sent again in the same order, keeping the time between records divided by the speed.
+ * <p>
+ * Closing a connection is replayed by shutting down its output. Servers usually close the connection as soon as they
+ * read the end of the stream, dropping any answer still pending, so before this the replay waits until the connection
+ * received as many bytes as the server sent in the capture, or the close timeout expires. This way accelerated replays
+ * still get all the answers. After the last record, the replay waits for the server to close the connections.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class CaptureReplay {
+
+    /**
+     * Interval between checks for the answers of a connection being closed.
+     */
+    private static final Duration                ANSWER_CHECK = Duration.ofMillis(10);
+
+    /**
+     * Channel attribute with the bytes received through the connection.
+     */
+    private static final AttributeKey<LongAdder> RECEIVED = AttributeKey.valueOf("replayReceived");
+
+    /**
+     * Time to wait for the answers of each connection before closing it, and for the server to close it afterwards.
+     */
+    private final Duration                       closeTimeout;
+
+    /**
+     * Host to connect to.
+     */
+    private final String                         host;
+
+    /**
+     * Event loops for the connections.
+     */
+    private final LoopResources                  loops;
+
+    /**
+     * Port to connect to.
+     */
+    private final int                            port;
+
+    /**
+     * Replay speed, relative to the capture. If zero, records are replayed as fast as possible.
+     */
+    private final double                         speed;
+
+    /**
+     * Constructs a replay against the server.
+     *
+     * @param hst
+     *            host to connect to
+     * @param prt
+     *            port to connect to
+     * @param spd
+     *            replay speed, relative to the capture, zero to replay as fast as possible
+     * @param timeout
+     *            time to wait for the answers of each connection before closing it, and for the server to close it
+     * @param lps
+     *            event loops for the connections
+     */
+    public CaptureReplay(final String hst, final int prt, final double spd, final Duration timeout,
+            final LoopResources lps) {
+        super();
+
+        if (spd < 0) {
+            throw new IllegalArgumentException("Speed can't be negative, received " + spd);
+        }
+
+        host = Objects.requireNonNull(hst);
+        port = prt;
+        speed = spd;
+        closeTimeout = Objects.requireNonNull(timeout);
+        loops = Objects.requireNonNull(lps);
+    }
+
+    /**
+     * Replays all the records in the capture.
+     *
+     * @param reader
+     *            capture to replay
+     * @return the replay results
+     */
+    public final ReplayResult replay(final CaptureReader reader) {
+        final Map<Integer, Connection> open;
+        final Map<Integer, Connection> all;
+        final Map<Integer, Long>       expected;
+        final List<Mono<Void>>         closing;
+        final LongAdder                received;
+        final TcpClient                client;
+        final long                     start;
+        long                           sent;
+        long                           capturedResponse;
+        long                           lastTimestamp;
+        long                           failed;
+        CaptureRecord                  record;
+        Connection                     connection;
+
+        received = new LongAdder();
+        client = TcpClient.create()
+            .host(host)
+            .port(port)
+            .runOn(loops)
+            // The loops only support TCP channels, so the DNS resolver can't run on them
+            .resolver(DefaultAddressResolverGroup.INSTANCE)
+            // Counts the responses until the server closes the connection
+            .handle((inbound, outbound) -> {
+                final LongAdder[] counter;
+
+                // The connection is given right away, the array takes the counter out of the lambda
+                counter = new LongAdder[1];
+                inbound.withConnection(conn -> counter[0] = getReceived(conn.channel()));
+                return inbound.receive()
+                    .doOnNext(buffer -> {
+                        counter[0].add(buffer.readableBytes());
+                        received.add(buffer.readableBytes());
+                    })
+                    .then();
+            });
+
+        open = new HashMap<>();
+        all = new HashMap<>();
+        expected = new HashMap<>();
+        closing = new ArrayList<>();
+        sent = 0;
+        capturedResponse = 0;
+        lastTimestamp = 0;
+        failed = 0;
+
+        start = System.nanoTime();
+        record = reader.next();
+        while (record != null) {
+            if (speed > 0) {
+                waitUntil(start + (long) (record.getTimestamp() / speed));
+            }
+            lastTimestamp = record.getTimestamp();
+
+            switch (record.getType()) {
+                case OPEN:
+                    connection = connect(client);
+                    if (connection == null) {
+                        failed++;
+                    } else {
+                        open.put(record.getConnection(), connection);
+                        all.put(record.getConnection(), connection);
+                    }
+                    break;
+                case INBOUND:
+                    connection = open.get(record.getConnection());
+                    if (connection != null) {
+                        connection.channel()
+                            .writeAndFlush(Unpooled.wrappedBuffer(record.getData()));
+                        sent += record.getData().length;
+                    }
+                    break;
+                case OUTBOUND:
+                    capturedResponse += record.getData().length;
+                    expected.merge(record.getConnection(), (long) record.getData().length, Long::sum);
+                    break;
+                default:
+                    connection = open.remove(record.getConnection());
+                    if (connection != null) {
+                        closing.add(close(connection, expected.getOrDefault(record.getConnection(), 0L)));
+                    }
+            }
+
+            record = reader.next();
+        }
+
+        // Connections still open weren't closed in the capture
+        open.forEach((id, conn) -> closing.add(close(conn, expected.getOrDefault(id, 0L))));
+
+        // Waits for the server to answer and close
+        Flux.fromIterable(closing)
+            .flatMap(Function.identity())
+            .then()
+            .block();
+        all.values()
+            .forEach(Connection::dispose);
+
+        return ReplayResult.builder()
+            .connections(all.size())
+            .failedConnections(failed)
+            .bytesSent(sent)
+            .bytesReceived(received.sum())
+            .capturedResponseBytes(capturedResponse)
+            .capturedDuration(lastTimestamp)
+            .duration(System.nanoTime() - start)
+            .build();
+    }
+
+    /**
+     * Closes the connection once it received the expected answers, or the close timeout expires. Then waits for the
+     * server to close it, again until the close timeout expires.
+     * <p>
+     * This starts right away, and the returned mono just tells when it ended.
+     *
+     * @param connection
+     *            connection to close
+     * @param answers
+     *            bytes the connection received in the capture
+     * @return a mono completing once the connection is closed, or the timeouts expired
+     */
+    private final Mono<Void> close(final Connection connection, final long answers) {
+        final LongAdder  counter;
+        final Mono<Void> answered;
+        final Mono<Void> closed;
+
+        counter = getReceived(connection.channel());
+        answered = Flux.interval(Duration.ZERO, ANSWER_CHECK)
+            .filter(tick -> counter.sum() >= answers)
+            .next()
+            .then()
+            // Stops waiting if the server closed the connection
+            .or(connection.onDispose())
+            .timeout(closeTimeout, Mono.empty());
+        closed = answered.then(Mono.fromRunnable(() -> shutdownOutput(connection)))
+            .then(connection.onDispose()
+                .timeout(closeTimeout, Mono.empty()))
+            .cache();
+        closed.subscribe();
+
+        return closed;
+    }
+
+    /**
+     * Opens a connection.
+     *
+     * @param client
+     *            client opening the connection
+     * @return the connection, or {@code null} if it couldn't be opened
+     */
+    private final Connection connect(final TcpClient client) {
+        Connection connection;
+
+        try {
+            connection = client.connectNow();
+        } catch (final RuntimeException e) {
+            log.warn("Failed connecting to {}:{}", host, port, e);
+            connection = null;
+        }
+
+        return connection;
+    }
+
+    /**
+     * Returns the counter for the bytes received through the channel, creating it if needed.
+     *
+     * @param channel
+     *            channel to get the counter for
+     * @return the counter for the bytes received
+     */
+    private final LongAdder getReceived(final Channel channel) {
+        final LongAdder counter;
+        final LongAdder existing;
+        final LongAdder result;
+
+        // The handler and the replay may ask for it first
+        counter = new LongAdder();
+        existing = channel.attr(RECEIVED)
+            .setIfAbsent(counter);
+        if (existing != null) {
+            result = existing;
+        } else {
+            result = counter;
+        }
+
+        return result;
+    }
+
+    /**
+     * Shuts down the output of the connection, or closes it if this is not supported.
+     *
+     * @param connection
+     *            connection to shut down
+     */
+    private final void shutdownOutput(final Connection connection) {
+        if (connection.channel() instanceof DuplexChannel) {
+            ((DuplexChannel) connection.channel()).shutdownOutput();
+        } else {
+            connection.dispose();
+        }
+    }
+
+    /**
+     * Waits until the received time.
+     *
+     * @param deadline
+     *            time to wait for, as given by {@link System#nanoTime()}
+     */
+    private final void waitUntil(final long deadline) {
+        long remaining;
+
+        remaining = deadline - System.nanoTime();
+        while (remaining > 0) {
+            LockSupport.parkNanos(remaining);
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+}
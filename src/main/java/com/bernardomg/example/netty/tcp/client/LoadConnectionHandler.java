@@ -0,0 +1,319 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.client;
+
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.bernardomg.example.netty.tcp.server.metrics.LatencyHistogram;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * Sends messages through a connection, and measures the latency of their responses. All the work runs in the event
+ * loop of the connection, so the handler state needs no synchronization.
+ * <p>
+ * With a target rate each message has an intended send time, following a fixed schedule. Latency is measured from that
+ * time, not from the actual send, so the time messages wait because the server is slow is also counted. This avoids
+ * coordinated omission, where a stalled server delays the next messages and hides its own latency. When sending as
+ * fast as possible there is no schedule, and latency is measured from the actual send.
+ * <p>
+ * Responses are matched to the messages in order, so the server should answer them in the same order.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class LoadConnectionHandler extends ChannelInboundHandlerAdapter {
+
+    /**
+     * Channel context. Set when the handler is added.
+     */
+    private ChannelHandlerContext  context;
+
+    /**
+     * Nanoseconds after which no more messages are sent, as given by {@link System#nanoTime()}.
+     */
+    private long                   deadline;
+
+    /**
+     * Pipelining depth. Messages sent without waiting for their responses.
+     */
+    private final int              depth;
+
+    /**
+     * Finished flag. Active after all the responses were received, or the connection was closed.
+     */
+    private boolean                finished;
+
+    /**
+     * Latch counted down when finishing.
+     */
+    private final CountDownLatch   finishLatch;
+
+    /**
+     * Index of the oldest message waiting for a response.
+     */
+    private int                    head;
+
+    /**
+     * Messages waiting for a response.
+     */
+    private int                    inFlight;
+
+    /**
+     * Nanoseconds between messages. If zero, messages are sent as fast as possible.
+     */
+    private final long             interval;
+
+    /**
+     * Latency histogram, where the latency of each response is recorded.
+     */
+    private final LatencyHistogram latency;
+
+    /**
+     * Message to send. It is never released, so each send uses a duplicate.
+     */
+    private final ByteBuf          message;
+
+    /**
+     * Intended send time of the next message.
+     */
+    private long                   nextSend;
+
+    /**
+     * Send times of the messages waiting for a response.
+     */
+    private final long[]           pending;
+
+    /**
+     * Responses received.
+     */
+    private long                   responses;
+
+    /**
+     * Responses flag. If active, each message expects a response.
+     */
+    private final boolean          responsesExpected;
+
+    /**
+     * Scheduled flag. Active while there is a send waiting in the event loop, so there is never more than one.
+     */
+    private boolean                scheduled;
+
+    /**
+     * Messages sent.
+     */
+    private long                   sent;
+
+    /**
+     * Constructs a handler sending the message.
+     *
+     * @param msg
+     *            message to send, shared by all the connections
+     * @param dpth
+     *            messages sent without waiting for their responses
+     * @param intrvl
+     *            nanoseconds between messages, zero to send as fast as possible
+     * @param rspns
+     *            expect a response for each message
+     * @param ltncy
+     *            histogram where the latency is recorded
+     * @param latch
+     *            latch counted down when finishing
+     */
+    public LoadConnectionHandler(final ByteBuf msg, final int dpth, final long intrvl, final boolean rspns,
+            final LatencyHistogram ltncy, final CountDownLatch latch) {
+        super();
+
+        if (dpth <= 0) {
+            throw new IllegalArgumentException("Depth should be positive, received " + dpth);
+        }
+
+        message = Objects.requireNonNull(msg);
+        depth = dpth;
+        interval = intrvl;
+        responsesExpected = rspns;
+        latency = Objects.requireNonNull(ltncy);
+        finishLatch = Objects.requireNonNull(latch);
+
+        pending = new long[depth];
+    }
+
+    @Override
+    public final void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        finish();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public final void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        final long now;
+
+        ReferenceCountUtil.release(msg);
+
+        if (responsesExpected && (inFlight > 0)) {
+            now = System.nanoTime();
+            latency.record(now - pending[head]);
+            head = (head + 1) % depth;
+            inFlight--;
+            responses++;
+
+            send();
+        }
+    }
+
+    @Override
+    public final void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel()
+            .isWritable()) {
+            send();
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    /**
+     * Returns the number of responses received.
+     *
+     * @return the number of responses received
+     */
+    public final long getResponses() {
+        return responses;
+    }
+
+    /**
+     * Returns the number of messages sent.
+     *
+     * @return the number of messages sent
+     */
+    public final long getSent() {
+        return sent;
+    }
+
+    @Override
+    public final void handlerAdded(final ChannelHandlerContext ctx) throws Exception {
+        context = ctx;
+    }
+
+    /**
+     * Starts sending messages, until the end time. Should be called after adding the handler, the start runs in the
+     * event loop after the handler is ready.
+     *
+     * @param start
+     *            time of the first message, as given by {@link System#nanoTime()}
+     * @param end
+     *            time after which no more messages are sent, as given by {@link System#nanoTime()}
+     */
+    public final void start(final long start, final long end) {
+        context.executor()
+            .execute(() -> {
+                nextSend = start;
+                deadline = end;
+                context.executor()
+                    .schedule(this::checkFinished, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                send();
+            });
+    }
+
+    /**
+     * Finishes if the deadline passed and there are no responses pending.
+     */
+    private final void checkFinished() {
+        if ((System.nanoTime() >= deadline) && (inFlight == 0)) {
+            finish();
+        }
+    }
+
+    /**
+     * Counts down the finish latch, only once.
+     */
+    private final void finish() {
+        if (!finished) {
+            finished = true;
+            finishLatch.countDown();
+        }
+    }
+
+    /**
+     * Sends all the messages allowed by the schedule, the pipelining depth and the channel writability. Then schedules
+     * the next send, if needed.
+     */
+    private final void send() {
+        final long now;
+        boolean    written;
+        int        batch;
+
+        now = System.nanoTime();
+        written = false;
+        batch = 0;
+        while ((nextSend < deadline) && (now < deadline) && ((interval == 0) || (nextSend <= now))
+                && (responsesExpected ? (inFlight < depth) : ((batch < depth) && context.channel()
+                    .isWritable()))) {
+            if (responsesExpected) {
+                // Without a schedule the message is intended to be sent now
+                pending[(head + inFlight) % depth] = (interval == 0) ? now : nextSend;
+                inFlight++;
+            }
+            context.write(message.duplicate(), context.voidPromise());
+            sent++;
+            batch++;
+            nextSend += interval;
+            written = true;
+        }
+
+        if (written) {
+            context.flush();
+        }
+
+        if ((nextSend >= deadline) || (now >= deadline)) {
+            checkFinished();
+        } else if (!scheduled) {
+            if ((interval > 0) && (responsesExpected ? (inFlight < depth) : (batch < depth))) {
+                // Waits for the schedule
+                scheduled = true;
+                context.executor()
+                    .schedule(this::sendScheduled, nextSend - now, TimeUnit.NANOSECONDS);
+            } else if ((!responsesExpected) && context.channel()
+                .isWritable()) {
+                // Lets other connections in the loop send too
+                scheduled = true;
+                context.executor()
+                    .execute(this::sendScheduled);
+            }
+        }
+    }
+
+    /**
+     * Sends the messages allowed, after waiting in the event loop.
+     */
+    private final void sendScheduled() {
+        scheduled = false;
+        send();
+    }
+
+}
@@ -0,0 +1,264 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.client;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import com.bernardomg.example.netty.tcp.server.metrics.LatencyHistogram;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.codec.LineBasedFrameDecoder;
+import io.netty.resolver.DefaultAddressResolverGroup;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.Connection;
+import reactor.netty.resources.LoopResources;
+import reactor.netty.tcp.TcpClient;
+
+/**
+ * Generates load against a server. Opens the connections, and sends messages through all of them at the same time.
+ * <p>
+ * Messages are lines, ending with a line break, and responses are expected to be lines too. So the server should use
+ * line framing.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class LoadGenerator {
+
+    /**
+     * Maximum response length, in bytes.
+     */
+    private static final int    MAX_RESPONSE = 64 * 1024;
+
+    /**
+     * Nanoseconds in a second.
+     */
+    private static final long   NANOS_PER_SECOND = 1_000_000_000L;
+
+    /**
+     * Time from connecting to sending the first message. Gives the event loops time to start all the connections.
+     */
+    private static final long   START_DELAY = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Host to connect to.
+     */
+    private final String        host;
+
+    /**
+     * Event loops for the connections.
+     */
+    private final LoopResources loops;
+
+    /**
+     * Load options.
+     */
+    private final LoadOptions   options;
+
+    /**
+     * Port to connect to.
+     */
+    private final int           port;
+
+    /**
+     * Constructs a load generator against the server.
+     *
+     * @param hst
+     *            host to connect to
+     * @param prt
+     *            port to connect to
+     * @param opts
+     *            load options
+     * @param lps
+     *            event loops for the connections
+     */
+    public LoadGenerator(final String hst, final int prt, final LoadOptions opts, final LoopResources lps) {
+        super();
+
+        host = Objects.requireNonNull(hst);
+        port = prt;
+        options = Objects.requireNonNull(opts);
+        loops = Objects.requireNonNull(lps);
+
+        if (options.getConnections() <= 0) {
+            throw new IllegalArgumentException("Connections should be positive, received " + options.getConnections());
+        }
+        if (options.getMessageSize() <= 0) {
+            throw new IllegalArgumentException(
+                "Message size should be positive, received " + options.getMessageSize());
+        }
+    }
+
+    /**
+     * Runs the load, and waits until it finishes.
+     *
+     * @return the load results
+     */
+    public final LoadResult run() {
+        final List<LoadConnectionHandler> handlers;
+        final List<Connection>            connections;
+        final LatencyHistogram            latency;
+        final CountDownLatch              finished;
+        final ByteBuf                     message;
+        final TcpClient                   client;
+        final long                        interval;
+        final long                        start;
+        final long                        end;
+        final long                        duration;
+        LoadConnectionHandler             handler;
+        long                              sent;
+        long                              responses;
+        int                               failed;
+
+        message = buildMessage();
+        latency = new LatencyHistogram();
+        finished = new CountDownLatch(options.getConnections());
+        if (options.getRate() > 0) {
+            // Each connection sends its share of the rate
+            interval = (options.getConnections() * NANOS_PER_SECOND) / options.getRate();
+        } else {
+            interval = 0;
+        }
+
+        client = TcpClient.create()
+            .host(host)
+            .port(port)
+            .runOn(loops)
+            // The loops only support TCP channels, so the DNS resolver can't run on them
+            .resolver(DefaultAddressResolverGroup.INSTANCE)
+            .option(ChannelOption.TCP_NODELAY, true)
+            // Keeps reading, the responses are consumed by the handlers before reaching this
+            .handle((inbound, outbound) -> inbound.receive()
+                .then());
+
+        // Opens the connections
+        handlers = new ArrayList<>();
+        connections = new ArrayList<>();
+        failed = 0;
+        for (int i = 0; i < options.getConnections(); i++) {
+            handler = new LoadConnectionHandler(message, options.getDepth(), interval, options.isResponses(), latency,
+                finished);
+            try {
+                connections.add(connect(client, handler));
+                handlers.add(handler);
+            } catch (final RuntimeException e) {
+                log.warn("Failed connecting to {}:{}", host, port, e);
+                failed++;
+                finished.countDown();
+            }
+        }
+
+        // Starts sending
+        start = System.nanoTime() + START_DELAY;
+        end = start + options.getDuration()
+            .toNanos();
+        for (int i = 0; i < handlers.size(); i++) {
+            // Spreads the first messages, so the connections don't send at the same time
+            handlers.get(i)
+                .start(start + ((interval * i) / handlers.size()), end);
+        }
+
+        // Waits for the responses
+        try {
+            finished.await(options.getDuration()
+                .plus(options.getResponseTimeout())
+                .toNanos() + START_DELAY, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            log.warn("Interrupted while waiting for the load to finish", e);
+            Thread.currentThread()
+                .interrupt();
+        }
+        duration = System.nanoTime() - start;
+
+        // Closes the connections, this also makes the handler counters visible
+        connections.forEach(connection -> connection.channel()
+            .close()
+            .syncUninterruptibly());
+
+        sent = 0;
+        responses = 0;
+        for (final LoadConnectionHandler loadHandler : handlers) {
+            sent += loadHandler.getSent();
+            responses += loadHandler.getResponses();
+        }
+
+        return LoadResult.builder()
+            .connections(connections.size())
+            .failedConnections(failed)
+            .messages(sent)
+            .bytesSent(sent * options.getMessageSize())
+            .responses(responses)
+            .duration(duration)
+            .latency(latency.snapshot())
+            .build();
+    }
+
+    /**
+     * Returns the message to send. A line of the message size, including the line break. The buffer is shared, and
+     * never released.
+     *
+     * @return the message to send
+     */
+    private final ByteBuf buildMessage() {
+        final byte[] bytes;
+
+        bytes = new byte[options.getMessageSize()];
+        Arrays.fill(bytes, (byte) 'a');
+        bytes[bytes.length - 1] = '\n';
+
+        return Unpooled.unreleasableBuffer(Unpooled.directBuffer(bytes.length)
+            .writeBytes(bytes));
+    }
+
+    /**
+     * Opens a connection, with the handler at the end of its pipeline.
+     *
+     * @param client
+     *            client opening the connection
+     * @param handler
+     *            handler sending the messages
+     * @return the connection
+     */
+    private final Connection connect(final TcpClient client, final LoadConnectionHandler handler) {
+        final Connection connection;
+
+        connection = client.connectNow();
+        if (options.isResponses()) {
+            connection.addHandlerLast("frameDecoder", new LineBasedFrameDecoder(MAX_RESPONSE));
+        }
+        connection.addHandlerLast("load", handler);
+
+        return connection;
+    }
+
+}
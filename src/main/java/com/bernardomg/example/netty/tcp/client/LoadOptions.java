@@ -0,0 +1,84 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.client;
+
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Load generation options.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Value
+@Builder
+public final class LoadOptions {
+
+    /**
+     * Number of connections.
+     */
+    @Builder.Default
+    private final int      connections = 1;
+
+    /**
+     * Pipelining depth. Messages sent on each connection without waiting for their responses.
+     */
+    @Builder.Default
+    private final int      depth = 1;
+
+    /**
+     * Time sending messages.
+     */
+    @Builder.Default
+    private final Duration duration = Duration.ofSeconds(10);
+
+    /**
+     * Message size in bytes, including the line break ending it.
+     */
+    @Builder.Default
+    private final int      messageSize = 64;
+
+    /**
+     * Target rate, in messages per second for all the connections. If zero, messages are sent as fast as possible.
+     */
+    @Builder.Default
+    private final long     rate = 0;
+
+    /**
+     * Responses flag. If active, each message is expected to get a response ending with a line break.
+     */
+    @Builder.Default
+    private final boolean  responses = true;
+
+    /**
+     * Time to wait for the pending responses after sending the last message.
+     */
+    @Builder.Default
+    private final Duration responseTimeout = Duration.ofSeconds(5);
+
+}
@@ -0,0 +1,87 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server;
+
+import java.util.Objects;
+
+import org.reactivestreams.Publisher;
+
+import com.bernardomg.example.netty.tcp.server.channel.BatchFlushHandler;
+
+import reactor.netty.NettyInbound;
+import reactor.netty.NettyOutbound;
+
+/**
+ * I/O handler which batches the responses of the wrapped handler. Responses to all the requests read in a single read
+ * cycle are flushed together, limited by a maximum batch size and delay.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class BatchingIoHandler implements IoHandler {
+
+    /**
+     * Maximum number of responses in a batch.
+     */
+    private final int       batchSize;
+
+    /**
+     * Maximum time, in nanoseconds, a response is delayed outside a read cycle.
+     */
+    private final long      maxDelay;
+
+    /**
+     * Wrapped handler.
+     */
+    private final IoHandler wrapped;
+
+    /**
+     * Constructs a handler which batches the responses of the received one.
+     *
+     * @param ioh
+     *            handler to wrap
+     * @param size
+     *            maximum number of responses in a batch
+     * @param delay
+     *            maximum time, in nanoseconds, a response is delayed outside a read cycle
+     */
+    public BatchingIoHandler(final IoHandler ioh, final int size, final long delay) {
+        super();
+
+        wrapped = Objects.requireNonNull(ioh);
+        batchSize = size;
+        maxDelay = delay;
+    }
+
+    @Override
+    public final Publisher<Void> handle(final NettyInbound request, final NettyOutbound response) {
+        // Batches flushes for this connection
+        response.withConnection(
+            conn -> conn.addHandlerFirst("batchFlush", new BatchFlushHandler(batchSize, maxDelay)));
+
+        return wrapped.handle(request, response);
+    }
+
+}
@@ -0,0 +1,106 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server;
+
+import java.nio.charset.Charset;
+import java.util.Objects;
+
+import org.reactivestreams.Publisher;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.NettyInbound;
+import reactor.netty.NettyOutbound;
+
+/**
+ * I/O handler which sends all messages to the listener, and also answers back with a predefined message. Works over
+ * buffers, never decoding the requests.
+ * <p>
+ * The response is encoded once into a direct, read-only buffer. Each response sends a duplicate of it, sharing the
+ * same memory.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class BufferListenAndAnswerIoHandler implements IoHandler {
+
+    /**
+     * Transaction listener. Reacts to events during the request.
+     */
+    private final BufferTransactionListener listener;
+
+    /**
+     * Response to send after a request. Already encoded, and shared by all the responses.
+     */
+    private final ByteBuf                   responseBuffer;
+
+    /**
+     * Constructs a handler which answers with the received message, encoded with the default charset.
+     *
+     * @param msg
+     *            response message
+     * @param lst
+     *            transaction listener
+     */
+    public BufferListenAndAnswerIoHandler(final String msg, final BufferTransactionListener lst) {
+        super();
+
+        final byte[] encoded;
+
+        encoded = Objects.requireNonNull(msg)
+            .getBytes(Charset.defaultCharset());
+        responseBuffer = Unpooled.unreleasableBuffer(Unpooled.directBuffer(encoded.length)
+            .writeBytes(encoded)
+            .asReadOnly());
+        listener = Objects.requireNonNull(lst);
+    }
+
+    @Override
+    public final Publisher<Void> handle(final NettyInbound request, final NettyOutbound response) {
+        final Publisher<ByteBuf> dataStream;
+
+        // A single response stream, so responses to pipelined requests don't wait for the previous ones
+        dataStream = request.receive()
+            // Log request
+            .doOnNext(next -> {
+                // Receive request
+                if (log.isDebugEnabled()) {
+                    log.debug("Received request: {}", next.toString(Charset.defaultCharset()));
+                }
+
+                // Sends the request to the listener
+                listener.onRequest(next);
+            })
+            // Answer request
+            .map(next -> responseBuffer.duplicate())
+            .doOnNext(listener::onResponse);
+
+        return response.send(dataStream)
+            .then();
+    }
+
+}
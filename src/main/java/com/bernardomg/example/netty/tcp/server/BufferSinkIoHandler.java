@@ -0,0 +1,79 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server;
+
+import java.nio.charset.Charset;
+import java.util.Objects;
+
+import org.reactivestreams.Publisher;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.NettyInbound;
+import reactor.netty.NettyOutbound;
+
+/**
+ * I/O handler which sends all received messages to the listener, but responds nothing. Requests are kept as buffers,
+ * and never decoded by the handler.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class BufferSinkIoHandler implements IoHandler {
+
+    /**
+     * Transaction listener. Reacts to events during the request.
+     */
+    private final BufferTransactionListener listener;
+
+    /**
+     * Constructs a handler which sends the requests to the listener.
+     *
+     * @param lst
+     *            transaction listener
+     */
+    public BufferSinkIoHandler(final BufferTransactionListener lst) {
+        super();
+
+        listener = Objects.requireNonNull(lst);
+    }
+
+    @Override
+    public final Publisher<Void> handle(final NettyInbound request, final NettyOutbound response) {
+        return request.receive()
+            // Log request
+            .doOnNext(next -> {
+                // Receive request
+                if (log.isDebugEnabled()) {
+                    log.debug("Received request: {}", next.toString(Charset.defaultCharset()));
+                }
+
+                // Sends the request to the listener
+                listener.onRequest(next);
+            })
+            .then();
+    }
+
+}
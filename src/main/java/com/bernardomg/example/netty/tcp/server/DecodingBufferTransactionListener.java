@@ -0,0 +1,85 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server;
+
+import java.nio.charset.Charset;
+import java.util.Objects;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Buffer transaction listener which decodes the messages into text, and sends them to a {@link TransactionListener}.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class DecodingBufferTransactionListener implements BufferTransactionListener {
+
+    /**
+     * Charset for decoding the messages.
+     */
+    private final Charset             charset;
+
+    /**
+     * Wrapped listener, which receives the decoded messages.
+     */
+    private final TransactionListener listener;
+
+    /**
+     * Constructs a listener which decodes the messages with the default charset.
+     *
+     * @param lst
+     *            listener to receive the decoded messages
+     */
+    public DecodingBufferTransactionListener(final TransactionListener lst) {
+        this(lst, Charset.defaultCharset());
+    }
+
+    /**
+     * Constructs a listener which decodes the messages with the received charset.
+     *
+     * @param lst
+     *            listener to receive the decoded messages
+     * @param chrst
+     *            charset for decoding the messages
+     */
+    public DecodingBufferTransactionListener(final TransactionListener lst, final Charset chrst) {
+        super();
+
+        listener = Objects.requireNonNull(lst);
+        charset = Objects.requireNonNull(chrst);
+    }
+
+    @Override
+    public final void onRequest(final ByteBuf message) {
+        listener.onRequest(message.toString(charset));
+    }
+
+    @Override
+    public final void onResponse(final ByteBuf message) {
+        listener.onResponse(message.toString(charset));
+    }
+
+}
@@ -0,0 +1,88 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.Connection;
+import reactor.netty.NettyInbound;
+
+/**
+ * Inbound which stops receiving once the server starts draining. Its streams complete at that moment, so the I/O
+ * handler can finish answering the requests it already received, and then the connection is closed.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+final class DrainingInbound implements NettyInbound {
+
+    /**
+     * Completes when the server starts draining.
+     */
+    private final Mono<Void>   draining;
+
+    /**
+     * Wrapped inbound.
+     */
+    private final NettyInbound inbound;
+
+    /**
+     * Constructs an inbound which stops receiving when the draining signal completes.
+     *
+     * @param inbnd
+     *            wrapped inbound
+     * @param drng
+     *            draining signal
+     */
+    public DrainingInbound(final NettyInbound inbnd, final Mono<Void> drng) {
+        super();
+
+        inbound = Objects.requireNonNull(inbnd);
+        draining = Objects.requireNonNull(drng);
+    }
+
+    @Override
+    public final ByteBufFlux receive() {
+        return ByteBufFlux.fromInbound(inbound.receive()
+            .takeUntilOther(draining));
+    }
+
+    @Override
+    public final Flux<?> receiveObject() {
+        return inbound.receiveObject()
+            .takeUntilOther(draining);
+    }
+
+    @Override
+    public final NettyInbound withConnection(final Consumer<? super Connection> withConnection) {
+        inbound.withConnection(withConnection);
+        return this;
+    }
+
+}
@@ -0,0 +1,89 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server;
+
+import java.nio.charset.Charset;
+import java.util.Objects;
+
+import org.reactivestreams.Publisher;
+
+import io.netty.buffer.ByteBuf;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.NettyInbound;
+import reactor.netty.NettyOutbound;
+
+/**
+ * I/O handler which sends all messages to the listener, and writes them back as they are. Works over buffers, never
+ * decoding the requests.
+ * <p>
+ * Each request is retained and written back, so the response shares the memory of the request, without copying it.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class EchoIoHandler implements IoHandler {
+
+    /**
+     * Transaction listener. Reacts to events during the request.
+     */
+    private final BufferTransactionListener listener;
+
+    /**
+     * Constructs a handler which echoes the requests.
+     *
+     * @param lst
+     *            transaction listener
+     */
+    public EchoIoHandler(final BufferTransactionListener lst) {
+        super();
+
+        listener = Objects.requireNonNull(lst);
+    }
+
+    @Override
+    public final Publisher<Void> handle(final NettyInbound request, final NettyOutbound response) {
+        final Publisher<ByteBuf> dataStream;
+
+        dataStream = request.receive()
+            // Kept after reading, as it is written back
+            .retain()
+            // Log request
+            .doOnNext(next -> {
+                // Receive request
+                if (log.isDebugEnabled()) {
+                    log.debug("Received request: {}", next.toString(Charset.defaultCharset()));
+                }
+
+                // Sends the request to the listener, it is also the response
+                listener.onRequest(next);
+                listener.onResponse(next);
+            });
+
+        return response.send(dataStream)
+            .then();
+    }
+
+}
@@ -29,7 +29,6 @@
 import org.reactivestreams.Publisher;
 
 import lombok.extern.slf4j.Slf4j;
-import reactor.core.publisher.Mono;
 import reactor.netty.NettyInbound;
 import reactor.netty.NettyOutbound;
 
@@ -61,7 +60,10 @@ public ListenAndAnswerIoHandler(final String msg, final TransactionListener lst)
 
     @Override
     public final Publisher<Void> handle(final NettyInbound request, final NettyOutbound response) {
-        return request.receive()
+        final Publisher<String> dataStream;
+
+        // A single response stream, so responses to pipelined requests don't wait for the previous ones
+        dataStream = request.receive()
             .asString()
             // Log request
             .doOnNext(next -> {
@@ -71,17 +73,11 @@ public final Publisher<Void> handle(final NettyInbound request, final NettyOutbo
                 // Sends the request to the listener
                 listener.onRequest(next);
             })
-            .concatMap(next -> {
-                final Publisher<String> dataStream;
-
-                // Send response
-                dataStream = Mono.just(responseMessage)
-                    .flux()
-                    .doOnNext(listener::onResponse);
+            // Answer request
+            .map(next -> responseMessage)
+            .doOnNext(listener::onResponse);
 
-                return response.sendString(dataStream)
-                    .then();
-            })
+        return response.sendString(dataStream)
             .then();
     }
 
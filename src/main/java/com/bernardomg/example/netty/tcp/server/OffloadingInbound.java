@@ -0,0 +1,99 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import io.netty.buffer.ByteBuf;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.Connection;
+import reactor.netty.NettyInbound;
+
+/**
+ * Inbound which delivers the received messages on a scheduler, instead of the event loop. Messages are delivered one
+ * at a time, in the order they were received.
+ * <p>
+ * Buffers are retained while they cross threads, and released once the message has been processed.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+final class OffloadingInbound implements NettyInbound {
+
+    /**
+     * Wrapped inbound.
+     */
+    private final NettyInbound inbound;
+
+    /**
+     * Scheduler where the messages are delivered.
+     */
+    private final Scheduler    scheduler;
+
+    /**
+     * Constructs an inbound which delivers the messages on the scheduler.
+     *
+     * @param inbnd
+     *            wrapped inbound
+     * @param schdlr
+     *            scheduler where the messages are delivered
+     */
+    public OffloadingInbound(final NettyInbound inbnd, final Scheduler schdlr) {
+        super();
+
+        inbound = Objects.requireNonNull(inbnd);
+        scheduler = Objects.requireNonNull(schdlr);
+    }
+
+    @Override
+    public final ByteBufFlux receive() {
+        return ByteBufFlux.fromInbound(inbound.receive()
+            // Reactor Netty releases the buffers as soon as they are delivered
+            .retain()
+            .publishOn(scheduler)
+            // Released after the message is processed
+            .concatMap(next -> Mono.just(next)
+                .doFinally(signal -> next.release()), 0)
+            // Buffers still queued when the connection is closed
+            .doOnDiscard(ByteBuf.class, ByteBuf::release));
+    }
+
+    @Override
+    public final Flux<?> receiveObject() {
+        return inbound.receiveObject()
+            .publishOn(scheduler);
+    }
+
+    @Override
+    public final NettyInbound withConnection(final Consumer<? super Connection> withConnection) {
+        inbound.withConnection(withConnection);
+        return this;
+    }
+
+}
@@ -0,0 +1,76 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server;
+
+import java.util.Objects;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.scheduler.Scheduler;
+import reactor.netty.NettyInbound;
+import reactor.netty.NettyOutbound;
+
+/**
+ * I/O handler which runs the wrapped handler request processing on a scheduler, keeping the event loops free for
+ * reading and writing. Useful for handlers which block, or take long to compute their responses.
+ * <p>
+ * Each connection processes its requests one at a time, in order, so responses keep the request order.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class OffloadingIoHandler implements IoHandler {
+
+    /**
+     * Scheduler where the requests are processed.
+     */
+    private final Scheduler scheduler;
+
+    /**
+     * Wrapped handler.
+     */
+    private final IoHandler wrapped;
+
+    /**
+     * Constructs a handler which runs the received one on the scheduler.
+     *
+     * @param ioh
+     *            handler to wrap
+     * @param schdlr
+     *            scheduler where the requests are processed
+     */
+    public OffloadingIoHandler(final IoHandler ioh, final Scheduler schdlr) {
+        super();
+
+        wrapped = Objects.requireNonNull(ioh);
+        scheduler = Objects.requireNonNull(schdlr);
+    }
+
+    @Override
+    public final Publisher<Void> handle(final NettyInbound request, final NettyOutbound response) {
+        return wrapped.handle(new OffloadingInbound(request, scheduler), response);
+    }
+
+}
@@ -24,14 +24,62 @@
 
 package com.bernardomg.example.netty.tcp.server;
 
+import java.net.StandardSocketOptions;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
+import com.bernardomg.example.netty.tcp.server.capture.CaptureHandler;
+import com.bernardomg.example.netty.tcp.server.channel.BackpressureHandler;
+import com.bernardomg.example.netty.tcp.server.channel.ConnectionLimitHandler;
+import com.bernardomg.example.netty.tcp.server.channel.RateLimitHandler;
+import com.bernardomg.example.netty.tcp.server.channel.RateLimiter;
+import com.bernardomg.example.netty.tcp.server.channel.RateLimits;
+import com.bernardomg.example.netty.tcp.server.framing.Framing;
+import com.bernardomg.example.netty.tcp.server.framing.RawFraming;
+import com.bernardomg.example.netty.tcp.server.metrics.ConnectionMetrics;
+import com.bernardomg.example.netty.tcp.server.metrics.HandshakeMetricsHandler;
+import com.bernardomg.example.netty.tcp.server.metrics.MessageMetricsHandler;
+import com.bernardomg.example.netty.tcp.server.metrics.ServerMetrics;
+import com.bernardomg.example.netty.tcp.server.metrics.TrafficMetricsHandler;
+import com.bernardomg.example.netty.tcp.server.tls.TlsContextFactory;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.nio.NioChannelOption;
+import io.netty.handler.ssl.SslContext;
+import io.netty.incubator.channel.uring.IOUringChannelOption;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+import io.netty.util.concurrent.GlobalEventExecutor;
 import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.netty.Connection;
 import reactor.netty.DisposableServer;
+import reactor.netty.FutureMono;
+import reactor.netty.NettyPipeline;
+import reactor.netty.resources.LoopResources;
+import reactor.netty.tcp.TcpResources;
 import reactor.netty.tcp.TcpServer;
 
 /**
  * Reactor Netty based TCP server.
+ * <p>
+ * If the options define several acceptors, then the server binds that number of sockets to the port, using
+ * SO_REUSEPORT. Each one is registered in its own event loop from the select group, as long as there are enough of
+ * them, and the kernel balances the incoming connections between them. They are all handled as a single server.
+ * <p>
+ * Stopping is graceful. First the server stops accepting connections, then the open connections stop receiving
+ * requests. Each one is closed after answering the requests it already received. Those still open after the shutdown
+ * timeout are closed by force.
  *
  * @author Bernardo Mart&iacute;nez Garrido
  *
@@ -39,30 +87,81 @@
 @Slf4j
 public final class ReactorNettyTcpServer implements Server {
 
+    /**
+     * Open connections.
+     */
+    private final ChannelGroup                 connections = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+
+    /**
+     * Connection limit handler. Shared by all the acceptors, and by other servers if received in the options. Null if
+     * there is no limit.
+     */
+    private final ConnectionLimitHandler       connectionLimit;
+
+    /**
+     * Draining signal. Completed when stopping, to end the requests of the open connections.
+     */
+    private final Sinks.Empty<Void>            draining = Sinks.empty();
+
+    /**
+     * Number of connections closed by force when stopping.
+     */
+    private int                                forceClosed;
+
+    /**
+     * Message framing. Splits the inbound data into requests.
+     */
+    private final Framing                      framing;
+
     /**
      * IO handler for the server.
      */
-    private final IoHandler           handler;
+    private final IoHandler                    handler;
 
     /**
      * Transaction listener. Extension hook which allows reacting to the transaction events.
      */
-    private final TransactionListener listener;
+    private final TransactionListener          listener;
+
+    /**
+     * Event loops running the server. Owned by the caller, which should dispose them after stopping the server.
+     */
+    private final LoopResources                loops;
+
+    /**
+     * Server metrics. Always recorded.
+     */
+    private final ServerMetrics                metrics;
+
+    /**
+     * Socket and channel options.
+     */
+    private final ServerOptions                options;
 
     /**
      * Port which the server will listen to.
      */
-    private final Integer             port;
+    private final Integer                      port;
 
     /**
-     * Server for closing the connection.
+     * Rate limiter for the connections. Replaced when the limits change, and read by each connection on every message.
      */
-    private DisposableServer          server;
+    private final AtomicReference<RateLimiter> rateLimiter;
 
     /**
-     * Wiretap flag.
+     * Bound servers, one for each acceptor. Used for closing the connections.
      */
-    private final boolean             wiretap;
+    private final List<DisposableServer>       servers = new ArrayList<>();
+
+    /**
+     * TLS context. Null if the server uses plain TCP.
+     */
+    private final SslContext                   sslContext;
+
+    /**
+     * Stopped flag.
+     */
+    private boolean                            stopped;
 
     /**
      * Constructs a server for the given port. The transaction listener will react to events when calling the server.
@@ -78,54 +177,386 @@ public final class ReactorNettyTcpServer implements Server {
      */
     public ReactorNettyTcpServer(final Integer prt, final TransactionListener lst, final IoHandler ioh,
             final boolean wtap) {
+        this(prt, lst, ioh, new RawFraming(), wtap);
+    }
+
+    /**
+     * Constructs a server for the given port. The transaction listener will react to events when calling the server.
+     * Each request received by the I/O handler will be a full frame, as defined by the framing.
+     *
+     * @param prt
+     *            port to listen for
+     * @param lst
+     *            transaction listener
+     * @param ioh
+     *            I/O handler
+     * @param frm
+     *            message framing
+     * @param wtap
+     *            wiretap flag
+     */
+    public ReactorNettyTcpServer(final Integer prt, final TransactionListener lst, final IoHandler ioh,
+            final Framing frm, final boolean wtap) {
+        this(prt, lst, ioh, frm, TcpResources.get(), ServerOptions.builder()
+            .wiretap(wtap)
+            .build());
+    }
+
+    /**
+     * Constructs a server for the given port, running on the received event loops and tuned with the received options.
+     * The transaction listener will react to events when calling the server. Each request received by the I/O handler
+     * will be a full frame, as defined by the framing.
+     *
+     * @param prt
+     *            port to listen for
+     * @param lst
+     *            transaction listener
+     * @param ioh
+     *            I/O handler
+     * @param frm
+     *            message framing
+     * @param lps
+     *            event loops for the server
+     * @param opts
+     *            socket and channel options
+     */
+    public ReactorNettyTcpServer(final Integer prt, final TransactionListener lst, final IoHandler ioh,
+            final Framing frm, final LoopResources lps, final ServerOptions opts) {
         super();
 
         port = Objects.requireNonNull(prt);
         listener = Objects.requireNonNull(lst);
-        wiretap = Objects.requireNonNull(wtap);
+        framing = Objects.requireNonNull(frm);
+        loops = Objects.requireNonNull(lps);
+        options = Objects.requireNonNull(opts);
+
+        if (options.getMetrics() != null) {
+            // Shared with other servers
+            metrics = options.getMetrics();
+        } else {
+            metrics = new ServerMetrics(options.getAllocator(), options.getCacheMetrics());
+        }
 
         handler = Objects.requireNonNull(ioh);
+
+        rateLimiter = new AtomicReference<>(new RateLimiter(options.getRateLimits()));
+
+        if (options.getTls() != null) {
+            // Built once, so the session cache is shared by all the connections
+            sslContext = new TlsContextFactory(options.getTls()).build();
+        } else {
+            sslContext = null;
+        }
+
+        if (options.getConnectionLimit() != null) {
+            // Shared with other servers
+            connectionLimit = options.getConnectionLimit();
+        } else if (options.getMaxConnections() > 0) {
+            connectionLimit = new ConnectionLimitHandler(options.getMaxConnections(),
+                options.getConnectionLimitPolicy(), metrics);
+        } else {
+            connectionLimit = null;
+        }
+    }
+
+    /**
+     * Returns the connection limit, so other servers can share it.
+     *
+     * @return the connection limit, or {@code null} if there is no limit
+     */
+    public final ConnectionLimitHandler getConnectionLimit() {
+        return connectionLimit;
+    }
+
+    /**
+     * Returns the number of connections closed by force when stopping, because they didn't finish in time.
+     *
+     * @return the number of connections closed by force
+     */
+    public final synchronized int getForceClosedConnections() {
+        return forceClosed;
+    }
+
+    /**
+     * Returns the server metrics.
+     *
+     * @return the server metrics
+     */
+    public final ServerMetrics getMetrics() {
+        return metrics;
     }
 
     @Override
     public final void listen() {
         log.trace("Starting server listening");
 
-        server.onDispose()
+        Flux.fromIterable(servers)
+            .flatMap(DisposableServer::onDispose)
+            .then()
             .block();
 
         log.trace("Stopped server listening");
     }
 
+    /**
+     * Replaces the rate limits. Open connections apply them from their next message. Unless the server is reloadable,
+     * connections only check the limits if there were any at first.
+     *
+     * @param limits
+     *            new rate limits
+     */
+    public final void setRateLimits(final RateLimits limits) {
+        log.debug("Changing rate limits to {}", limits);
+        rateLimiter.set(new RateLimiter(limits));
+    }
+
     @Override
     public final void start() {
+        final TcpServer tcpServer;
+
         log.trace("Starting server");
 
         log.debug("Binding to port {}", port);
 
         listener.onStart();
 
-        server = TcpServer.create()
+        tcpServer = applySecurity(applyOptions(TcpServer.create()))
             // Wiretap
-            .wiretap(wiretap)
+            .wiretap(options.isWiretap())
+            // Event loops
+            .runOn(loops)
+            // Tracks connections
+            .channelGroup(connections)
+            // Prepares acceptor
+            .doOnBound(this::initializeAcceptor)
+            // Prepares connection
+            .doOnConnection(this::initializeConnection)
             // Adds request handler
-            .handle(handler::handle)
+            .handle((request, response) -> handler.handle(new DrainingInbound(request, draining.asMono()), response))
             // Binds to port
-            .port(port)
-            .bindNow();
+            .port(port);
+
+        // Each bind creates a new acceptor
+        for (int i = 0; i < options.getAcceptors(); i++) {
+            servers.add(tcpServer.bindNow());
+        }
+        log.debug("Bound {} acceptors", servers.size());
 
         log.trace("Started server");
     }
 
     @Override
-    public final void stop() {
-        log.trace("Stopping server");
+    public final synchronized void stop() {
+        if (stopped) {
+            log.debug("Server already stopped");
+        } else {
+            log.trace("Stopping server");
+
+            stopped = true;
+
+            // Stops accepting connections
+            servers.forEach(DisposableServer::dispose);
+
+            // Ends the requests, each connection closes after answering those already received
+            draining.tryEmitEmpty();
+            forceClosed = closeConnections();
+
+            listener.onStop();
+
+            log.trace("Stopped server");
+        }
+    }
+
+    /**
+     * Applies the socket and channel options to the server. Sizes which are not set are left to the system default.
+     *
+     * @param tcpServer
+     *            server to configure
+     * @return the configured server
+     */
+    private final TcpServer applyOptions(final TcpServer tcpServer) {
+        TcpServer configured;
+
+        configured = tcpServer.option(ChannelOption.ALLOCATOR, options.getAllocator())
+            .childOption(ChannelOption.ALLOCATOR, options.getAllocator())
+            .option(ChannelOption.SO_REUSEADDR, options.isReuseAddress())
+            .childOption(ChannelOption.TCP_NODELAY, options.isTcpNoDelay())
+            .childOption(ChannelOption.WRITE_BUFFER_WATER_MARK,
+                new WriteBufferWaterMark(options.getWriteBufferLow(), options.getWriteBufferHigh()));
+
+        if (options.getBacklog() > 0) {
+            configured = configured.option(ChannelOption.SO_BACKLOG, options.getBacklog());
+        }
+        if (options.getReceiveBuffer() > 0) {
+            // Set on the listening socket, so accepted sockets get it before the handshake
+            configured = configured.option(ChannelOption.SO_RCVBUF, options.getReceiveBuffer());
+        }
+        if (options.getSendBuffer() > 0) {
+            configured = configured.childOption(ChannelOption.SO_SNDBUF, options.getSendBuffer());
+        }
+        if (options.isReusePort() || (options.getAcceptors() > 1)) {
+            // Acceptors share the port
+            configured = configured.option(getReusePortOption(), true);
+        }
+
+        return configured;
+    }
+
+    /**
+     * Applies TLS to the server, if it is enabled. Handshakes are recorded into the metrics.
+     *
+     * @param tcpServer
+     *            server to configure
+     * @return the configured server
+     */
+    private final TcpServer applySecurity(final TcpServer tcpServer) {
+        final TcpServer configured;
+
+        if (sslContext != null) {
+            configured = tcpServer.secure(spec -> spec.sslContext(sslContext)
+                .handshakeTimeout(options.getTls()
+                    .getHandshakeTimeout()))
+                // The connection is only prepared after the handshake, so it is measured from the channel
+                .doOnChannelInit((observer, channel, address) -> channel.pipeline()
+                    .addAfter(NettyPipeline.SslHandler, "handshakeMetrics", new HandshakeMetricsHandler(metrics)));
+        } else {
+            configured = tcpServer;
+        }
+
+        return configured;
+    }
+
+    /**
+     * Waits for the open connections to close, up to the shutdown timeout. Those still open after it are closed by
+     * force.
+     *
+     * @return the number of connections closed by force
+     */
+    private final int closeConnections() {
+        final int open;
+
+        log.debug("Waiting up to {} for {} connections to close", options.getShutdownTimeout(), connections.size());
+
+        Flux.fromIterable(connections)
+            .flatMap(channel -> FutureMono.from(channel.closeFuture()))
+            .then()
+            .timeout(options.getShutdownTimeout(), Mono.empty())
+            .block();
+
+        open = connections.size();
+        if (open > 0) {
+            log.warn("Closing {} connections by force", open);
+            connections.close()
+                .awaitUninterruptibly();
+        }
+
+        return open;
+    }
+
+    /**
+     * Closes a connection for being idle.
+     *
+     * @param connection
+     *            connection to close
+     */
+    private final void closeIdle(final Connection connection) {
+        log.debug("Closing idle connection {}", connection.channel());
+        metrics.onIdleClose();
+        connection.dispose();
+    }
+
+    /**
+     * Returns the SO_REUSEPORT option for the transport of the event loops. Netty defines it for each transport.
+     *
+     * @return the SO_REUSEPORT option
+     */
+    private final ChannelOption<Boolean> getReusePortOption() {
+        final Class<? extends ServerSocketChannel> channelClass;
+        final ChannelOption<Boolean>               option;
+
+        channelClass = loops.onChannelClass(ServerSocketChannel.class,
+            loops.onServerSelect(LoopResources.DEFAULT_NATIVE));
+        if (EpollServerSocketChannel.class.equals(channelClass)) {
+            option = EpollChannelOption.SO_REUSEPORT;
+        } else if (IOUringServerSocketChannel.class.equals(channelClass)) {
+            option = IOUringChannelOption.SO_REUSEPORT;
+        } else {
+            option = NioChannelOption.of(StandardSocketOptions.SO_REUSEPORT);
+        }
+
+        return option;
+    }
+
+    /**
+     * Prepares a new acceptor. Installs the connection limit, if there is any.
+     *
+     * @param acceptor
+     *            acceptor to prepare
+     */
+    private final void initializeAcceptor(final DisposableServer acceptor) {
+        if (connectionLimit != null) {
+            acceptor.channel()
+                .pipeline()
+                .addFirst("connectionLimit", connectionLimit);
+        }
+    }
+
+    /**
+     * Prepares a new connection. Installs the framing, the rate limits, the backpressure and the idle timeouts, and
+     * starts recording metrics for it. The listener is told when the connection is opened and closed.
+     *
+     * @param connection
+     *            connection to prepare
+     */
+    private final void initializeConnection(final Connection connection) {
+        final Channel           channel;
+        final ConnectionMetrics connectionMetrics;
+
+        channel = connection.channel();
+        connectionMetrics = new ConnectionMetrics(channel.id()
+            .asShortText(), channel.remoteAddress());
+
+        metrics.onConnect();
+        listener.onConnect(connectionMetrics.snapshot());
+        connection.onDispose(() -> {
+            metrics.onDisconnect();
+            listener.onDisconnect(connectionMetrics.snapshot());
+        });
+
+        // Splits requests into frames
+        framing.install(connection);
+
+        if (options.isReloadable() || options.getRateLimits()
+            .isLimited()) {
+            // Limits the requests before anything else processes them
+            connection.addHandlerLast("rateLimit", new RateLimitHandler(rateLimiter::get, metrics));
+        }
+
+        // Messages are recorded after framing, traffic as it is in the socket
+        connection.addHandlerLast("messageMetrics", new MessageMetricsHandler(metrics, connectionMetrics))
+            .addHandlerFirst("trafficMetrics", new TrafficMetricsHandler(metrics, connectionMetrics));
 
-        listener.onStop();
+        if (options.isBackpressure()) {
+            // Stops reading while the responses can't be written
+            connection.addHandlerFirst("backpressure", new BackpressureHandler(metrics));
+        }
 
-        server.dispose();
+        if (options.getCapture() != null) {
+            // Captures the traffic as it is in the socket
+            connection.addHandlerFirst("capture", new CaptureHandler(options.getCapture()));
+        }
 
-        log.trace("Stopped server");
+        // Closes dead connections
+        if (!options.getReadIdleTimeout()
+            .isZero()) {
+            connection.onReadIdle(options.getReadIdleTimeout()
+                .toMillis(), () -> closeIdle(connection));
+        }
+        if (!options.getWriteIdleTimeout()
+            .isZero()) {
+            connection.onWriteIdle(options.getWriteIdleTimeout()
+                .toMillis(), () -> closeIdle(connection));
+        }
     }
 
 }
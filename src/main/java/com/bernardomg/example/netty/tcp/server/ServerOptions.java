@@ -0,0 +1,201 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server;
+
+import java.time.Duration;
+
+import com.bernardomg.example.netty.tcp.server.capture.TrafficCapture;
+import com.bernardomg.example.netty.tcp.server.channel.ConnectionLimitHandler;
+import com.bernardomg.example.netty.tcp.server.channel.ConnectionLimitPolicy;
+import com.bernardomg.example.netty.tcp.server.channel.RateLimits;
+import com.bernardomg.example.netty.tcp.server.metrics.CacheMetrics;
+import com.bernardomg.example.netty.tcp.server.metrics.ServerMetrics;
+import com.bernardomg.example.netty.tcp.server.tls.TlsOptions;
+
+import io.netty.buffer.ByteBufAllocator;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Server tuning options. These are the socket and channel options applied when binding the server, and to each
+ * connection.
+ * <p>
+ * Sizes equal or below zero are left to the system default.
+ * <p>
+ * Several servers may share the same options. Then they share the allocator, capture, metrics and connection limit,
+ * while the rate limits apply to each server on its own.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Value
+@Builder(toBuilder = true)
+public final class ServerOptions {
+
+    /**
+     * Number of sockets bound to the port. Above one SO_REUSEPORT is enabled, and the kernel balances the incoming
+     * connections between them.
+     */
+    @Builder.Default
+    private final int                    acceptors = 1;
+
+    /**
+     * Buffer allocator for the server and its connections.
+     */
+    @Builder.Default
+    private final ByteBufAllocator       allocator = ByteBufAllocator.DEFAULT;
+
+    /**
+     * Backpressure flag. If active, connections stop reading while they are not writable, as defined by the write
+     * buffer watermarks.
+     */
+    @Builder.Default
+    private final boolean                backpressure = false;
+
+    /**
+     * Maximum number of pending connections waiting to be accepted. SO_BACKLOG.
+     */
+    @Builder.Default
+    private final int                    backlog = 0;
+
+    /**
+     * Metrics for the response cache. If null, there is no cache.
+     */
+    private final CacheMetrics           cacheMetrics;
+
+    /**
+     * Capture where the traffic is recorded. If null, the traffic is not captured.
+     */
+    private final TrafficCapture         capture;
+
+    /**
+     * Connection limit to apply, which allows several servers to share it. If null, the server creates its own from the
+     * maximum number of connections.
+     */
+    private final ConnectionLimitHandler connectionLimit;
+
+    /**
+     * What to do with connections over the limit.
+     */
+    @Builder.Default
+    private final ConnectionLimitPolicy  connectionLimitPolicy = ConnectionLimitPolicy.REJECT;
+
+    /**
+     * Maximum number of open connections. If zero, there is no limit.
+     */
+    @Builder.Default
+    private final int                    maxConnections = 0;
+
+    /**
+     * Metrics to record into, which allows several servers to share them. If null, the server creates its own.
+     */
+    private final ServerMetrics          metrics;
+
+    /**
+     * Rate limits for the messages received.
+     */
+    @Builder.Default
+    private final RateLimits            rateLimits = RateLimits.builder()
+        .build();
+
+    /**
+     * Time without reading after which a connection is closed. If zero, connections are never closed for this.
+     */
+    @Builder.Default
+    private final Duration               readIdleTimeout = Duration.ZERO;
+
+    /**
+     * Reloadable flag. If active, the rate limits can be replaced while running, so they are installed on every
+     * connection, even if at first there is none.
+     */
+    @Builder.Default
+    private final boolean                reloadable = false;
+
+    /**
+     * Receive buffer size, in bytes. SO_RCVBUF.
+     */
+    @Builder.Default
+    private final int                    receiveBuffer = 0;
+
+    /**
+     * Allows binding to an address in the TIME_WAIT state. SO_REUSEADDR.
+     */
+    @Builder.Default
+    private final boolean                reuseAddress = true;
+
+    /**
+     * Allows several sockets to bind to the same port. SO_REUSEPORT. Always enabled with several acceptors.
+     */
+    @Builder.Default
+    private final boolean                reusePort = false;
+
+    /**
+     * Send buffer size, in bytes. SO_SNDBUF.
+     */
+    @Builder.Default
+    private final int                    sendBuffer = 0;
+
+    /**
+     * Maximum time to wait for the open connections to finish when stopping. After it they are closed by force.
+     */
+    @Builder.Default
+    private final Duration               shutdownTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Disables Nagle's algorithm, so small messages are sent without waiting. TCP_NODELAY.
+     */
+    @Builder.Default
+    private final boolean                tcpNoDelay = true;
+
+    /**
+     * TLS options. If null, the server uses plain TCP.
+     */
+    private final TlsOptions             tls;
+
+    /**
+     * Wiretap flag. Logs the network traffic.
+     */
+    @Builder.Default
+    private final boolean                wiretap = false;
+
+    /**
+     * Time without writing after which a connection is closed. If zero, connections are never closed for this.
+     */
+    @Builder.Default
+    private final Duration               writeIdleTimeout = Duration.ZERO;
+
+    /**
+     * Pending outbound bytes from which a connection stops being writable.
+     */
+    @Builder.Default
+    private final int                    writeBufferHigh = 64 * 1024;
+
+    /**
+     * Pending outbound bytes below which a connection becomes writable again.
+     */
+    @Builder.Default
+    private final int                    writeBufferLow = 32 * 1024;
+
+}
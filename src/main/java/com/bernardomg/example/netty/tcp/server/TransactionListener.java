@@ -24,14 +24,39 @@
 
 package com.bernardomg.example.netty.tcp.server;
 
+import com.bernardomg.example.netty.tcp.server.metrics.ConnectionSnapshot;
+
 /**
  * Transaction listener. Allows reacting to the events of a message transaction.
+ * <p>
+ * Connection events identify each connection, and tell how much it has been used. This allows tracking the activity
+ * of each client.
  *
  * @author Bernardo Mart&iacute;nez Garrido
  *
  */
 public interface TransactionListener {
 
+    /**
+     * Reacts to a client connecting to the server. Does nothing by default.
+     *
+     * @param connection
+     *            connection opened, with its metrics still empty
+     */
+    public default void onConnect(final ConnectionSnapshot connection) {
+        // Ignored by default
+    }
+
+    /**
+     * Reacts to a client disconnecting from the server. Does nothing by default.
+     *
+     * @param connection
+     *            connection closed, with its final metrics
+     */
+    public default void onDisconnect(final ConnectionSnapshot connection) {
+        // Ignored by default
+    }
+
     /**
      * Reacts to a request message being received by the server from the client.
      *
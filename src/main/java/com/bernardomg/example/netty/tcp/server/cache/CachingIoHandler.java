@@ -0,0 +1,139 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.cache;
+
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+
+import com.bernardomg.example.netty.tcp.server.BufferTransactionListener;
+import com.bernardomg.example.netty.tcp.server.IoHandler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufUtil;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.NettyInbound;
+import reactor.netty.NettyOutbound;
+
+/**
+ * I/O handler which answers back with the responses computed by a responder, keeping them in a cache. Repeated
+ * requests are answered with the cached bytes, without decoding them nor calling the responder again.
+ * <p>
+ * The responder receives the decoded request, and returns its response, or {@code null} if the request has no
+ * response. Requests without a response are not answered.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class CachingIoHandler implements IoHandler {
+
+    /**
+     * Response cache.
+     */
+    private final ResponseCache             cache;
+
+    /**
+     * Transaction listener. Reacts to events during the request.
+     */
+    private final BufferTransactionListener listener;
+
+    /**
+     * Computes the response for a request.
+     */
+    private final Function<String, String>  responder;
+
+    /**
+     * Constructs a handler which caches the responses of the received responder.
+     *
+     * @param rspndr
+     *            computes the response for a request
+     * @param cch
+     *            response cache
+     * @param lst
+     *            transaction listener
+     */
+    public CachingIoHandler(final Function<String, String> rspndr, final ResponseCache cch,
+            final BufferTransactionListener lst) {
+        super();
+
+        responder = Objects.requireNonNull(rspndr);
+        cache = Objects.requireNonNull(cch);
+        listener = Objects.requireNonNull(lst);
+    }
+
+    @Override
+    public final Publisher<Void> handle(final NettyInbound request, final NettyOutbound response) {
+        final Publisher<ByteBuf> dataStream;
+        final ByteBufAllocator   alloc;
+
+        alloc = response.alloc();
+        dataStream = request.receive()
+            // Log request
+            .doOnNext(next -> {
+                // Receive request
+                if (log.isDebugEnabled()) {
+                    log.debug("Received request: {}", next.toString(Charset.defaultCharset()));
+                }
+
+                // Sends the request to the listener
+                listener.onRequest(next);
+            })
+            // Answer request, skipping those without a response
+            .mapNotNull(next -> cache.get(next, req -> encode(alloc, req)))
+            .doOnNext(listener::onResponse);
+
+        return response.send(dataStream)
+            .then();
+    }
+
+    /**
+     * Computes the response for the request, and encodes it.
+     *
+     * @param alloc
+     *            allocator for the response buffer
+     * @param request
+     *            request to answer
+     * @return the encoded response, or {@code null} if there is no response
+     */
+    private final ByteBuf encode(final ByteBufAllocator alloc, final ByteBuf request) {
+        final String  text;
+        final ByteBuf result;
+
+        text = responder.apply(request.toString(Charset.defaultCharset()));
+        if (text == null) {
+            result = null;
+        } else {
+            result = ByteBufUtil.encodeString(alloc, CharBuffer.wrap(text), Charset.defaultCharset());
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,415 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+import com.bernardomg.example.netty.tcp.server.metrics.CacheMetrics;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Bounded cache of encoded responses, keyed by the request bytes.
+ * <p>
+ * The cache is split into segments, each one with its own lock and a share of the limits, so the I/O threads rarely
+ * wait for each other. Each segment evicts the least recently used entries when it goes over its number of entries or
+ * memory, and entries older than the time to live are dropped when found.
+ * <p>
+ * Lookups use the received buffer as key, so hits don't copy nor allocate anything besides the response duplicate.
+ * Responses are kept as buffers, and each hit sends a retained duplicate, sharing the same memory.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class ResponseCache implements AutoCloseable {
+
+    /**
+     * Estimated memory used by an entry, besides its key and response.
+     */
+    private static final int   ENTRY_OVERHEAD = 96;
+
+    /**
+     * Number of segments. Must be a power of two.
+     */
+    private static final int   SEGMENTS = 16;
+
+    /**
+     * Cache metrics.
+     */
+    private final CacheMetrics metrics;
+
+    /**
+     * Segments, chosen by the key hash.
+     */
+    private final Segment[]    segments;
+
+    /**
+     * Time to live for the entries, in nanoseconds. If zero, entries don't expire.
+     */
+    private final long         timeToLive;
+
+    /**
+     * Constructs a cache with the given limits.
+     *
+     * @param maxEntries
+     *            maximum number of entries
+     * @param maxMemory
+     *            maximum memory used by the entries, in bytes
+     * @param ttl
+     *            time to live for the entries, if zero they don't expire
+     * @param mtrcs
+     *            metrics to update
+     */
+    public ResponseCache(final int maxEntries, final long maxMemory, final Duration ttl, final CacheMetrics mtrcs) {
+        super();
+
+        final int count;
+
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Maximum entries should be positive, received " + maxEntries);
+        }
+        if (maxMemory <= 0) {
+            throw new IllegalArgumentException("Maximum memory should be positive, received " + maxMemory);
+        }
+
+        timeToLive = Objects.requireNonNull(ttl)
+            .toNanos();
+        metrics = Objects.requireNonNull(mtrcs);
+
+        // Small caches use a single segment, so the limits are not split too thin
+        if (maxEntries < SEGMENTS * SEGMENTS) {
+            count = 1;
+        } else {
+            count = SEGMENTS;
+        }
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(maxEntries / count, maxMemory / count);
+        }
+    }
+
+    /**
+     * Removes all the entries, releasing their responses. Used when the responses change, so they are computed again.
+     * Responses being computed at the same time may still be stored afterwards.
+     */
+    public final void clear() {
+        for (final Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * Removes all the entries, releasing their responses.
+     */
+    @Override
+    public final void close() {
+        clear();
+    }
+
+    /**
+     * Returns the response for the request, computing it if it is not cached.
+     * <p>
+     * The responder receives the request and returns a new buffer with the encoded response, or {@code null} if the
+     * request has no response. The cache takes ownership of this buffer. Requests without a response are cached too.
+     *
+     * @param request
+     *            request to answer, it is not modified
+     * @param responder
+     *            computes the response for a request
+     * @return a retained duplicate of the response, or {@code null} if there is no response
+     */
+    public final ByteBuf get(final ByteBuf request, final Function<ByteBuf, ByteBuf> responder) {
+        final Segment segment;
+        final long    now;
+        final Entry   cached;
+        final ByteBuf computed;
+        final Entry   created;
+        Entry         stored;
+        ByteBuf       result;
+
+        segment = segments[spread(request.hashCode()) & (segments.length - 1)];
+        now = System.nanoTime();
+
+        synchronized (segment) {
+            cached = segment.find(request, now);
+            if (cached != null) {
+                metrics.onHit();
+                result = duplicate(cached);
+            } else {
+                metrics.onMiss();
+                result = null;
+            }
+        }
+
+        if (cached == null) {
+            // Computed outside the lock, so slow responders don't block the other requests in the segment
+            computed = responder.apply(request);
+            created = new Entry(Unpooled.copiedBuffer(request), computed, now);
+            synchronized (segment) {
+                stored = segment.store(created);
+            }
+            if (stored == null) {
+                // Too large to cache, the response is released once sent
+                result = computed;
+            } else {
+                result = duplicate(stored);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns a retained duplicate of the entry response, or {@code null} if it has no response.
+     *
+     * @param entry
+     *            entry to duplicate
+     * @return a retained duplicate of the response
+     */
+    private final ByteBuf duplicate(final Entry entry) {
+        final ByteBuf result;
+
+        if (entry.response == null) {
+            result = null;
+        } else {
+            result = entry.response.retainedDuplicate();
+        }
+
+        return result;
+    }
+
+    /**
+     * Spreads the hash bits, as the lower ones choose the segment.
+     *
+     * @param hash
+     *            hash to spread
+     * @return the spread hash
+     */
+    private final int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Cache entry.
+     */
+    private static final class Entry {
+
+        /**
+         * Time the entry was created, in nanoseconds.
+         */
+        private final long    created;
+
+        /**
+         * Request bytes. Copied, so the received buffer can be released.
+         */
+        private final ByteBuf key;
+
+        /**
+         * Encoded response. Null if the request has no response.
+         */
+        private final ByteBuf response;
+
+        /**
+         * Estimated memory used by the entry.
+         */
+        private final long    size;
+
+        /**
+         * Constructs an entry.
+         *
+         * @param k
+         *            request bytes
+         * @param resp
+         *            encoded response, may be {@code null}
+         * @param time
+         *            creation time, in nanoseconds
+         */
+        private Entry(final ByteBuf k, final ByteBuf resp, final long time) {
+            super();
+
+            final long responseSize;
+
+            key = k;
+            response = resp;
+            created = time;
+            if (resp == null) {
+                responseSize = 0;
+            } else {
+                responseSize = resp.readableBytes();
+            }
+            size = ENTRY_OVERHEAD + k.readableBytes() + responseSize;
+        }
+
+        /**
+         * Releases the response.
+         */
+        private final void release() {
+            if (response != null) {
+                response.release();
+            }
+        }
+
+    }
+
+    /**
+     * Cache segment. Keeps the entries in access order, so the eldest is the least recently used. All the methods
+     * should be called while holding the segment lock.
+     */
+    private final class Segment {
+
+        /**
+         * Entries, in access order. Any buffer with the same readable bytes finds the entry.
+         */
+        private final Map<ByteBuf, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+        /**
+         * Maximum number of entries.
+         */
+        private final int                 maxEntries;
+
+        /**
+         * Maximum memory used by the entries.
+         */
+        private final long                maxMemory;
+
+        /**
+         * Memory used by the entries.
+         */
+        private long                      memory;
+
+        /**
+         * Constructs a segment with the given limits.
+         *
+         * @param entriesLimit
+         *            maximum number of entries
+         * @param memoryLimit
+         *            maximum memory used by the entries
+         */
+        private Segment(final int entriesLimit, final long memoryLimit) {
+            super();
+
+            maxEntries = entriesLimit;
+            maxMemory = memoryLimit;
+        }
+
+        /**
+         * Removes all the entries.
+         */
+        private final void clear() {
+            for (final Entry entry : entries.values()) {
+                entry.release();
+                metrics.onRemove(entry.size);
+            }
+            entries.clear();
+            memory = 0;
+        }
+
+        /**
+         * Returns the entry for the request, or {@code null} if there is none or it expired.
+         *
+         * @param request
+         *            request to find
+         * @param now
+         *            current time, in nanoseconds
+         * @return the entry for the request
+         */
+        private final Entry find(final ByteBuf request, final long now) {
+            Entry entry;
+
+            entry = entries.get(request);
+            if ((entry != null) && (timeToLive > 0) && ((now - entry.created) >= timeToLive)) {
+                entries.remove(entry.key);
+                evict(entry);
+                entry = null;
+            }
+
+            return entry;
+        }
+
+        /**
+         * Removes an entry, releasing its response.
+         *
+         * @param entry
+         *            entry to remove
+         */
+        private final void evict(final Entry entry) {
+            memory -= entry.size;
+            entry.release();
+            metrics.onEvict(entry.size);
+        }
+
+        /**
+         * Stores the entry, evicting the least recently used ones if the segment goes over its limits. If there is
+         * already an entry for the same request, it is kept, and the new one released.
+         * <p>
+         * Entries larger than the segment memory are not stored. Then {@code null} is returned, and the caller keeps
+         * the ownership of the response.
+         *
+         * @param entry
+         *            entry to store
+         * @return the entry for the request, or {@code null} if it was not stored
+         */
+        private final Entry store(final Entry entry) {
+            final Entry           existing;
+            final Iterator<Entry> eldest;
+            final Entry           result;
+            Entry                 evicted;
+
+            existing = entries.get(entry.key);
+            if (existing != null) {
+                // Computed by another thread at the same time
+                entry.release();
+                result = existing;
+            } else if (entry.size > maxMemory) {
+                result = null;
+            } else {
+                entries.put(entry.key, entry);
+                memory += entry.size;
+                metrics.onStore(entry.size);
+
+                eldest = entries.values()
+                    .iterator();
+                while ((entries.size() > maxEntries) || (memory > maxMemory)) {
+                    evicted = eldest.next();
+                    eldest.remove();
+                    evict(evicted);
+                }
+                result = entry;
+            }
+
+            return result;
+        }
+
+    }
+
+}
@@ -0,0 +1,72 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.capture;
+
+/**
+ * Layout of the capture files.
+ * <p>
+ * The file starts with a header, containing the magic number, the format version and the epoch milliseconds when the
+ * capture started. It is followed by the records, each with its type, connection id, nanoseconds since the capture
+ * started, data length and data. All numbers are big endian.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+final class CaptureFormat {
+
+    /**
+     * Header size, in bytes.
+     */
+    public static final int                 HEADER_SIZE = Integer.BYTES + Short.BYTES + Long.BYTES;
+
+    /**
+     * Magic number at the start of the file. Spells TCPC.
+     */
+    public static final int                 MAGIC = 0x54435043;
+
+    /**
+     * Record header size, in bytes. The data follows it.
+     */
+    public static final int                 RECORD_HEADER_SIZE = Byte.BYTES + Integer.BYTES + Long.BYTES
+            + Integer.BYTES;
+
+    /**
+     * Record types, indexed by their code.
+     */
+    public static final CaptureRecordType[] TYPES = CaptureRecordType.values();
+
+    /**
+     * Format version.
+     */
+    public static final short               VERSION = 1;
+
+    /**
+     * Private constructor, to avoid instances.
+     */
+    private CaptureFormat() {
+        super();
+    }
+
+}
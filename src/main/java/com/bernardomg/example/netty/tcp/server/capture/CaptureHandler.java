@@ -0,0 +1,95 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.capture;
+
+import java.util.Objects;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Sends the traffic of a connection to the capture. Should be at the start of the pipeline, to capture the bytes as
+ * they are in the socket.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class CaptureHandler extends ChannelDuplexHandler {
+
+    /**
+     * Capture where the traffic is recorded.
+     */
+    private final TrafficCapture capture;
+
+    /**
+     * Id of the connection in the capture.
+     */
+    private final int            connection;
+
+    /**
+     * Constructs a handler recording into the received capture.
+     *
+     * @param cptr
+     *            capture where the traffic is recorded
+     */
+    public CaptureHandler(final TrafficCapture cptr) {
+        super();
+
+        capture = Objects.requireNonNull(cptr);
+        connection = capture.nextConnection();
+    }
+
+    @Override
+    public final void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        capture.record(CaptureRecordType.CLOSE, connection, null);
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public final void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        if (msg instanceof ByteBuf) {
+            capture.record(CaptureRecordType.INBOUND, connection, (ByteBuf) msg);
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public final void handlerAdded(final ChannelHandlerContext ctx) throws Exception {
+        // The connection is already open when the handler is added
+        capture.record(CaptureRecordType.OPEN, connection, null);
+    }
+
+    @Override
+    public final void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        if (msg instanceof ByteBuf) {
+            capture.record(CaptureRecordType.OUTBOUND, connection, (ByteBuf) msg);
+        }
+        ctx.write(msg, promise);
+    }
+
+}
@@ -0,0 +1,137 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.capture;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads the records from a capture file, in the order they were written.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class CaptureReader implements AutoCloseable {
+
+    /**
+     * Stream reading the file.
+     */
+    private final DataInputStream input;
+
+    /**
+     * Epoch milliseconds when the capture started.
+     */
+    private final long            startTime;
+
+    /**
+     * Opens the capture file, and reads its header.
+     *
+     * @param path
+     *            capture file
+     */
+    public CaptureReader(final Path path) {
+        super();
+
+        try {
+            input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+            if (input.readInt() != CaptureFormat.MAGIC) {
+                input.close();
+                throw new IllegalArgumentException(path + " is not a capture file");
+            }
+            if (input.readShort() != CaptureFormat.VERSION) {
+                input.close();
+                throw new IllegalArgumentException(path + " has an unsupported capture version");
+            }
+            startTime = input.readLong();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public final void close() {
+        try {
+            input.close();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the epoch milliseconds when the capture started.
+     *
+     * @return the epoch milliseconds when the capture started
+     */
+    public final long getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * Returns the next record, or {@code null} if there are no more. A record cut at the end of the file, as happens if
+     * the capture wasn't closed, is treated as the end of the file.
+     *
+     * @return the next record, or {@code null} if there are no more
+     */
+    public final CaptureRecord next() {
+        final int               code;
+        final CaptureRecordType type;
+        final int               connection;
+        final long              timestamp;
+        final byte[]            data;
+        CaptureRecord           record;
+
+        try {
+            code = input.read();
+            if (code < 0) {
+                record = null;
+            } else {
+                type = CaptureFormat.TYPES[code];
+                connection = input.readInt();
+                timestamp = input.readLong();
+                data = new byte[input.readInt()];
+                input.readFully(data);
+
+                record = CaptureRecord.builder()
+                    .type(type)
+                    .connection(connection)
+                    .timestamp(timestamp)
+                    .data(data)
+                    .build();
+            }
+        } catch (final EOFException e) {
+            record = null;
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return record;
+    }
+
+}
@@ -0,0 +1,361 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.capture;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.bernardomg.example.netty.tcp.server.listener.MpscRingBuffer;
+
+import io.netty.buffer.ByteBuf;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Captures the traffic into an append-only binary file, following the {@link CaptureFormat}.
+ * <p>
+ * The I/O threads only queue the records, taking a retained duplicate of the bytes instead of copying them. A writer
+ * thread takes them from the queue, copies them into a reusable buffer and writes it into the file when it is full or
+ * when there are no more records. Records are dropped if the queue is full, so the capture never blocks the I/O
+ * threads.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class TrafficCapture implements AutoCloseable {
+
+    /**
+     * Record waiting to be written.
+     */
+    private static final class Record {
+
+        /**
+         * Connection id.
+         */
+        private final int               connection;
+
+        /**
+         * Bytes sent or received. Null if there are none.
+         */
+        private final ByteBuf           data;
+
+        /**
+         * Nanoseconds since the capture started.
+         */
+        private final long              timestamp;
+
+        /**
+         * Record type.
+         */
+        private final CaptureRecordType type;
+
+        /**
+         * Constructs a record.
+         *
+         * @param tp
+         *            record type
+         * @param conn
+         *            connection id
+         * @param tmstmp
+         *            nanoseconds since the capture started
+         * @param dt
+         *            bytes sent or received, may be {@code null}
+         */
+        private Record(final CaptureRecordType tp, final int conn, final long tmstmp, final ByteBuf dt) {
+            super();
+
+            type = tp;
+            connection = conn;
+            timestamp = tmstmp;
+            data = dt;
+        }
+
+    }
+
+    /**
+     * Size of the write buffer, in bytes.
+     */
+    private static final int             BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Buffer where the records are copied before writing them.
+     */
+    private final ByteBuffer             buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    /**
+     * Connection id generator.
+     */
+    private final AtomicInteger          connections = new AtomicInteger();
+
+    /**
+     * Records dropped because the queue was full.
+     */
+    private final LongAdder              dropped = new LongAdder();
+
+    /**
+     * File where the records are written.
+     */
+    private final FileChannel            file;
+
+    /**
+     * Parked flag. Set by the writer before parking, so the I/O threads know it has to be woken up.
+     */
+    private volatile boolean             parked;
+
+    /**
+     * Records waiting to be written.
+     */
+    private final MpscRingBuffer<Record> queue;
+
+    /**
+     * Running flag. While active, the writer waits for new records.
+     */
+    private volatile boolean             running;
+
+    /**
+     * Start time, as given by {@link System#nanoTime()}. Timestamps are relative to it.
+     */
+    private final long                   startNanos;
+
+    /**
+     * Thread writing the records.
+     */
+    private Thread                       writer;
+
+    /**
+     * Opens a capture into the file. Existing contents are replaced.
+     *
+     * @param path
+     *            file where the capture is written
+     * @param capacity
+     *            number of records which can wait to be written
+     */
+    public TrafficCapture(final Path path, final int capacity) {
+        super();
+
+        Objects.requireNonNull(path);
+
+        queue = new MpscRingBuffer<>(capacity);
+        try {
+            file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        startNanos = System.nanoTime();
+        buffer.putInt(CaptureFormat.MAGIC)
+            .putShort(CaptureFormat.VERSION)
+            .putLong(System.currentTimeMillis());
+    }
+
+    /**
+     * Stops the writer, after writing all the queued records, and closes the file.
+     */
+    @Override
+    public final void close() {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join();
+            } catch (final InterruptedException e) {
+                log.warn("Interrupted while waiting for the queued records", e);
+                Thread.currentThread()
+                    .interrupt();
+            }
+        }
+
+        try {
+            flush();
+            file.close();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the number of records dropped because the queue was full.
+     *
+     * @return the number of records dropped
+     */
+    public final long getDroppedRecords() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns a new connection id.
+     *
+     * @return a new connection id
+     */
+    public final int nextConnection() {
+        return connections.incrementAndGet();
+    }
+
+    /**
+     * Records an event. The data, if any, is retained until written.
+     *
+     * @param type
+     *            record type
+     * @param connection
+     *            connection id
+     * @param data
+     *            bytes sent or received, may be {@code null}
+     */
+    public final void record(final CaptureRecordType type, final int connection, final ByteBuf data) {
+        final Record record;
+
+        if (data == null) {
+            record = new Record(type, connection, System.nanoTime() - startNanos, null);
+        } else {
+            record = new Record(type, connection, System.nanoTime() - startNanos, data.retainedDuplicate());
+        }
+
+        if (!queue.offer(record)) {
+            dropped.increment();
+            if (record.data != null) {
+                record.data.release();
+            }
+        } else if (parked) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    public final void start() {
+        running = true;
+        writer = new Thread(this::consume, "traffic-capture");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Writes records until stopped, parking while there are none. The queue is drained before finishing.
+     */
+    private final void consume() {
+        boolean stopping;
+        Record  record;
+
+        do {
+            // Read before polling, so everything queued before stopping is written
+            stopping = !running;
+            record = queue.poll();
+            if (record != null) {
+                write(record);
+            } else if (!stopping) {
+                // Nothing else to batch
+                flushQuietly();
+                // Flagged before checking the queue again, so a record queued after the check unparks the writer
+                parked = true;
+                if ((queue.size() == 0) && running) {
+                    LockSupport.park(this);
+                }
+                parked = false;
+            }
+        } while ((record != null) || !stopping);
+    }
+
+    /**
+     * Writes the buffer into the file.
+     *
+     * @throws IOException
+     *             if the file can't be written
+     */
+    private final void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            file.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes the buffer into the file, logging errors.
+     */
+    private final void flushQuietly() {
+        try {
+            flush();
+        } catch (final IOException e) {
+            log.error("Failed writing capture", e);
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Copies the record into the buffer, writing the buffer first if there isn't enough space. Data larger than the
+     * buffer is written straight into the file.
+     *
+     * @param record
+     *            record to write
+     */
+    private final void write(final Record record) {
+        final int length;
+
+        if (record.data == null) {
+            length = 0;
+        } else {
+            length = record.data.readableBytes();
+        }
+
+        try {
+            if (buffer.remaining() < (CaptureFormat.RECORD_HEADER_SIZE + length)) {
+                flush();
+            }
+
+            buffer.put((byte) record.type.ordinal())
+                .putInt(record.connection)
+                .putLong(record.timestamp)
+                .putInt(length);
+            if (length > buffer.remaining()) {
+                flush();
+                while (record.data.isReadable()) {
+                    record.data.readBytes(file, record.data.readableBytes());
+                }
+            } else if (length > 0) {
+                buffer.limit(buffer.position() + length);
+                record.data.readBytes(buffer);
+                buffer.limit(buffer.capacity());
+            }
+        } catch (final IOException e) {
+            log.error("Failed writing capture", e);
+            buffer.clear();
+        } finally {
+            if (record.data != null) {
+                record.data.release();
+            }
+        }
+    }
+
+}
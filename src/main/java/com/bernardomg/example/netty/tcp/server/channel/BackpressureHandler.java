@@ -0,0 +1,214 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.channel;
+
+import java.util.Objects;
+
+import com.bernardomg.example.netty.tcp.server.metrics.ServerMetrics;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufHolder;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Stops reading from the channel while it is not writable. This way a client which doesn't read its responses can't
+ * make the server queue them without limit.
+ * <p>
+ * The channel stops being writable when the bytes pending to be written go over the high write buffer watermark, and
+ * becomes writable again once they go below the low watermark. While it is not writable, reads are suspended through
+ * the {@link ReadSuspension} shared with the other handlers which may suspend them.
+ * <p>
+ * The pending bytes, and the connections which are throttled, are recorded into the server metrics.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class BackpressureHandler extends ChannelDuplexHandler {
+
+    /**
+     * Server metrics.
+     */
+    private final ServerMetrics metrics;
+
+    /**
+     * Bytes written and not yet sent.
+     */
+    private long                pendingBytes;
+
+    /**
+     * Throttled flag. Active while reading is suspended.
+     */
+    private boolean             throttled;
+
+    /**
+     * Constructs a handler which records into the received metrics.
+     *
+     * @param mtrcs
+     *            server metrics
+     */
+    public BackpressureHandler(final ServerMetrics mtrcs) {
+        super();
+
+        metrics = Objects.requireNonNull(mtrcs);
+    }
+
+    @Override
+    public final void channelInactive(final ChannelHandlerContext ctx) throws Exception {
+        release();
+        ctx.fireChannelInactive();
+    }
+
+    @Override
+    public final void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (ctx.channel()
+            .isWritable()) {
+            resume(ctx);
+        } else {
+            suspend(ctx);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    /**
+     * Returns the bytes written to the channel and not yet sent.
+     *
+     * @return the pending bytes
+     */
+    public final long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    @Override
+    public final void handlerRemoved(final ChannelHandlerContext ctx) throws Exception {
+        release();
+    }
+
+    /**
+     * Returns if the channel is throttled, and not reading.
+     *
+     * @return {@code true} if the channel is not reading, {@code false} otherwise
+     */
+    public final boolean isThrottled() {
+        return throttled;
+    }
+
+    @Override
+    public final void read(final ChannelHandlerContext ctx) throws Exception {
+        if (!ReadSuspension.of(ctx.channel())
+            .holdRead()) {
+            ctx.read();
+        }
+    }
+
+    @Override
+    public final void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        final long           size;
+        final ChannelPromise tracked;
+
+        size = getSize(msg);
+        if (size == 0) {
+            ctx.write(msg, promise);
+        } else {
+            pendingBytes += size;
+            metrics.onPendingBytes(size);
+
+            // Void promises can't be listened to
+            tracked = promise.unvoid();
+            tracked.addListener(future -> {
+                pendingBytes -= size;
+                metrics.onPendingBytes(-size);
+            });
+            ctx.write(msg, tracked);
+        }
+    }
+
+    /**
+     * Returns the size of a message.
+     *
+     * @param msg
+     *            message to measure
+     * @return the message size in bytes
+     */
+    private final long getSize(final Object msg) {
+        final long size;
+
+        if (msg instanceof ByteBuf) {
+            size = ((ByteBuf) msg).readableBytes();
+        } else if (msg instanceof ByteBufHolder) {
+            size = ((ByteBufHolder) msg).content()
+                .readableBytes();
+        } else {
+            size = 0;
+        }
+
+        return size;
+    }
+
+    /**
+     * Stops recording the connection as throttled. Pending writes are discounted as they fail.
+     */
+    private final void release() {
+        if (throttled) {
+            throttled = false;
+            metrics.onUnthrottle();
+        }
+    }
+
+    /**
+     * Resumes reading, unless another handler keeps it suspended.
+     *
+     * @param ctx
+     *            channel context
+     */
+    private final void resume(final ChannelHandlerContext ctx) {
+        if (throttled) {
+            throttled = false;
+            metrics.onUnthrottle();
+
+            ReadSuspension.of(ctx.channel())
+                .resume(SuspendReason.BACKPRESSURE);
+        }
+    }
+
+    /**
+     * Suspends reading until the channel is writable.
+     *
+     * @param ctx
+     *            channel context
+     */
+    private final void suspend(final ChannelHandlerContext ctx) {
+        if (!throttled) {
+            throttled = true;
+            metrics.onThrottle();
+
+            ReadSuspension.of(ctx.channel())
+                .suspend(SuspendReason.BACKPRESSURE);
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.channel;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.ScheduledFuture;
+
+/**
+ * Groups flushes into batches. While the channel is reading, flushes are delayed until the read cycle is complete, so
+ * all the responses to the requests read at once are written together.
+ * <p>
+ * Pending flushes are also sent when the batch size is reached, when the maximum delay expires, when the channel stops
+ * being writable and when it is closed.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class BatchFlushHandler extends ChannelDuplexHandler {
+
+    /**
+     * Maximum number of flushes in a batch.
+     */
+    private final int          batchSize;
+
+    /**
+     * Maximum time, in nanoseconds, a flush can be delayed outside a read cycle. If zero, flushes are not delayed.
+     */
+    private final long         maxDelay;
+
+    /**
+     * Number of flushes delayed.
+     */
+    private int                pendingFlushes;
+
+    /**
+     * Read cycle flag. Active while the channel is reading.
+     */
+    private boolean            reading;
+
+    /**
+     * Delayed flush, if any is scheduled.
+     */
+    private ScheduledFuture<?> scheduledFlush;
+
+    /**
+     * Constructs a handler with the given batch limits.
+     *
+     * @param size
+     *            maximum number of flushes in a batch
+     * @param delay
+     *            maximum delay, in nanoseconds, for flushes outside a read cycle
+     */
+    public BatchFlushHandler(final int size, final long delay) {
+        super();
+
+        if (size <= 0) {
+            throw new IllegalArgumentException("Batch size should be positive, received " + size);
+        }
+        if (delay < 0) {
+            throw new IllegalArgumentException("Batch delay can't be negative, received " + delay);
+        }
+
+        batchSize = size;
+        maxDelay = delay;
+    }
+
+    @Override
+    public final void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        reading = true;
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public final void channelReadComplete(final ChannelHandlerContext ctx) throws Exception {
+        reading = false;
+        flushPending(ctx);
+        ctx.fireChannelReadComplete();
+    }
+
+    @Override
+    public final void channelWritabilityChanged(final ChannelHandlerContext ctx) throws Exception {
+        if (!ctx.channel()
+            .isWritable()) {
+            // Nothing more can be written until the pending data is flushed
+            flushPending(ctx);
+        }
+        ctx.fireChannelWritabilityChanged();
+    }
+
+    @Override
+    public final void close(final ChannelHandlerContext ctx, final ChannelPromise promise) throws Exception {
+        flushPending(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public final void disconnect(final ChannelHandlerContext ctx, final ChannelPromise promise) throws Exception {
+        flushPending(ctx);
+        ctx.disconnect(promise);
+    }
+
+    @Override
+    public final void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) throws Exception {
+        flushPending(ctx);
+        ctx.fireExceptionCaught(cause);
+    }
+
+    @Override
+    public final void flush(final ChannelHandlerContext ctx) throws Exception {
+        pendingFlushes++;
+        if (pendingFlushes >= batchSize) {
+            // Batch is full
+            flushPending(ctx);
+        } else if (!reading) {
+            if (maxDelay == 0) {
+                flushPending(ctx);
+            } else if (scheduledFlush == null) {
+                scheduledFlush = ctx.executor()
+                    .schedule(() -> flushPending(ctx), maxDelay, TimeUnit.NANOSECONDS);
+            }
+        }
+        // Otherwise waits for the read cycle to complete
+    }
+
+    @Override
+    public final void handlerRemoved(final ChannelHandlerContext ctx) throws Exception {
+        flushPending(ctx);
+    }
+
+    /**
+     * Flushes the channel if there are pending flushes, and cancels the delayed flush.
+     *
+     * @param ctx
+     *            channel context
+     */
+    private final void flushPending(final ChannelHandlerContext ctx) {
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+
+        if (pendingFlushes > 0) {
+            pendingFlushes = 0;
+            ctx.flush();
+        }
+    }
+
+}
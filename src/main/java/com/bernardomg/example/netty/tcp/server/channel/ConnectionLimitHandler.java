@@ -0,0 +1,184 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.channel;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.bernardomg.example.netty.tcp.server.metrics.ServerMetrics;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Limits the number of open connections. Should be at the start of the pipeline of the server channels, where each
+ * message read is an accepted connection. It is shared by all the server channels, so the limit applies to all of
+ * them.
+ * <p>
+ * Open connections are kept in an atomic counter. Connections over the limit are closed before registering them, and
+ * counted as rejected. With the queue policy the server channels also stop accepting at the limit, and the new
+ * connections wait in the accept backlog until another one is closed.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Sharable
+@Slf4j
+public final class ConnectionLimitHandler extends ChannelInboundHandlerAdapter {
+
+    /**
+     * Server channels accepting connections.
+     */
+    private final List<Channel>         acceptors = new CopyOnWriteArrayList<>();
+
+    /**
+     * Maximum number of open connections.
+     */
+    private final int                   maxConnections;
+
+    /**
+     * Server metrics, where rejections are recorded.
+     */
+    private final ServerMetrics         metrics;
+
+    /**
+     * Open connections.
+     */
+    private final AtomicInteger         open = new AtomicInteger();
+
+    /**
+     * Paused flag. Active while the server channels are not accepting.
+     */
+    private boolean                     paused;
+
+    /**
+     * Policy for the connections over the limit.
+     */
+    private final ConnectionLimitPolicy policy;
+
+    /**
+     * Constructs a handler with the given limit.
+     *
+     * @param max
+     *            maximum number of open connections
+     * @param plcy
+     *            policy for the connections over the limit
+     * @param mtrcs
+     *            server metrics
+     */
+    public ConnectionLimitHandler(final int max, final ConnectionLimitPolicy plcy, final ServerMetrics mtrcs) {
+        super();
+
+        if (max <= 0) {
+            throw new IllegalArgumentException("Connection limit should be positive, received " + max);
+        }
+
+        maxConnections = max;
+        policy = Objects.requireNonNull(plcy);
+        metrics = Objects.requireNonNull(mtrcs);
+    }
+
+    @Override
+    public final void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        final Channel child;
+
+        child = (Channel) msg;
+        if (open.incrementAndGet() > maxConnections) {
+            // Over the limit
+            open.decrementAndGet();
+            metrics.onReject();
+            log.debug("Rejecting connection from {}, reached the limit of {} connections", child.remoteAddress(),
+                maxConnections);
+            child.unsafe()
+                .closeForcibly();
+        } else {
+            child.closeFuture()
+                .addListener(future -> release());
+            ctx.fireChannelRead(child);
+        }
+
+        if ((policy == ConnectionLimitPolicy.QUEUE) && (open.get() >= maxConnections)) {
+            pause();
+        }
+    }
+
+    /**
+     * Returns the number of open connections.
+     *
+     * @return the number of open connections
+     */
+    public final int getOpenConnections() {
+        return open.get();
+    }
+
+    @Override
+    public final void handlerAdded(final ChannelHandlerContext ctx) throws Exception {
+        acceptors.add(ctx.channel());
+    }
+
+    @Override
+    public final void handlerRemoved(final ChannelHandlerContext ctx) throws Exception {
+        acceptors.remove(ctx.channel());
+    }
+
+    /**
+     * Stops accepting connections in all the server channels, if the limit is reached.
+     */
+    private final synchronized void pause() {
+        if ((!paused) && (open.get() >= maxConnections)) {
+            log.debug("Reached the limit of {} connections, pausing accept", maxConnections);
+            paused = true;
+            acceptors.forEach(acceptor -> acceptor.config()
+                .setAutoRead(false));
+        }
+    }
+
+    /**
+     * Discounts a closed connection, and resumes accepting connections if possible.
+     */
+    private final void release() {
+        if (open.decrementAndGet() < maxConnections) {
+            resume();
+        }
+    }
+
+    /**
+     * Resumes accepting connections in all the server channels, if they are paused and below the limit.
+     */
+    private final synchronized void resume() {
+        if (paused && (open.get() < maxConnections)) {
+            log.debug("Below the limit of {} connections, resuming accept", maxConnections);
+            paused = false;
+            acceptors.forEach(acceptor -> acceptor.config()
+                .setAutoRead(true));
+        }
+    }
+
+}
@@ -0,0 +1,252 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.channel;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.bernardomg.example.netty.tcp.server.metrics.ServerMetrics;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.util.ReferenceCountUtil;
+
+/**
+ * Limits the messages and bytes received through a connection. Should be after the framing, so each message read is a
+ * full request.
+ * <p>
+ * Each message takes tokens from the connection buckets, and from the global buckets shared by all the connections.
+ * Depending on the policy, messages over the limits are dropped, or reading pauses until the buckets have tokens
+ * again. When dropping, the buckets are taken from in order, so a message dropped by a later bucket still spends the
+ * tokens of the earlier ones. Reads are paused through the {@link ReadSuspension} shared with the other handlers which
+ * may suspend them.
+ * <p>
+ * The limiter is read on each message, so it can be replaced while the connection is open. When this happens the
+ * connection starts using the new limits, with new buckets.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class RateLimitHandler extends ChannelDuplexHandler {
+
+    /**
+     * Limiter the buckets were created from.
+     */
+    private RateLimiter                 active;
+
+    /**
+     * Buckets limiting the bytes received.
+     */
+    private TokenBucket[]               byteBuckets;
+
+    /**
+     * Current limiter. Read on each message.
+     */
+    private final Supplier<RateLimiter> limiter;
+
+    /**
+     * Buckets limiting the messages received.
+     */
+    private TokenBucket[]               messageBuckets;
+
+    /**
+     * Server metrics where the limited messages are recorded.
+     */
+    private final ServerMetrics         metrics;
+
+    /**
+     * Paused flag. Reading is held while it is active.
+     */
+    private boolean                     paused;
+
+    /**
+     * Constructs a handler limiting through the limiter given by the supplier.
+     *
+     * @param lmtr
+     *            supplier for the current limiter
+     * @param mtrcs
+     *            server metrics where the limited messages are recorded
+     */
+    public RateLimitHandler(final Supplier<RateLimiter> lmtr, final ServerMetrics mtrcs) {
+        super();
+
+        limiter = Objects.requireNonNull(lmtr);
+        metrics = Objects.requireNonNull(mtrcs);
+    }
+
+    @Override
+    public final void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        final RateLimiter current;
+        final long        size;
+        final long        wait;
+
+        current = limiter.get();
+        if (current != active) {
+            // Limits changed, or first message
+            active = current;
+            messageBuckets = current.createMessageBuckets();
+            byteBuckets = current.createByteBuckets();
+        }
+
+        if (msg instanceof ByteBuf) {
+            size = ((ByteBuf) msg).readableBytes();
+        } else {
+            size = 0;
+        }
+
+        if (current.getLimits()
+            .getPolicy() == RateLimitPolicy.DROP) {
+            if (tryAcquire(size)) {
+                ctx.fireChannelRead(msg);
+            } else {
+                metrics.onRateLimitDrop(size);
+                ReferenceCountUtil.release(msg);
+            }
+        } else {
+            // Already read, so it is accepted, and the debt paid by pausing
+            wait = acquire(size);
+            ctx.fireChannelRead(msg);
+            if ((wait > 0) && !paused) {
+                pause(ctx, wait);
+            }
+        }
+    }
+
+    @Override
+    public final void read(final ChannelHandlerContext ctx) throws Exception {
+        if (!ReadSuspension.of(ctx.channel())
+            .holdRead()) {
+            ctx.read();
+        }
+    }
+
+    /**
+     * Takes the tokens for a message from all the buckets, and returns how long to wait until all of them have tokens
+     * again.
+     *
+     * @param size
+     *            message size
+     * @return nanoseconds to wait until all the buckets have tokens
+     */
+    private final long acquire(final long size) {
+        long wait;
+
+        wait = 0;
+        for (final TokenBucket bucket : messageBuckets) {
+            wait = Math.max(wait, bucket.acquire(1));
+        }
+        for (final TokenBucket bucket : byteBuckets) {
+            wait = Math.max(wait, bucket.acquire(size));
+        }
+
+        return wait;
+    }
+
+    /**
+     * Returns how long to wait until all the buckets have tokens again.
+     *
+     * @return nanoseconds to wait until all the buckets have tokens
+     */
+    private final long getWait() {
+        long wait;
+
+        wait = 0;
+        for (final TokenBucket bucket : messageBuckets) {
+            wait = Math.max(wait, bucket.getWait());
+        }
+        for (final TokenBucket bucket : byteBuckets) {
+            wait = Math.max(wait, bucket.getWait());
+        }
+
+        return wait;
+    }
+
+    /**
+     * Stops reading, and schedules resuming after the wait.
+     *
+     * @param ctx
+     *            channel context
+     * @param wait
+     *            nanoseconds to wait before resuming
+     */
+    private final void pause(final ChannelHandlerContext ctx, final long wait) {
+        paused = true;
+        metrics.onRateLimitPause();
+        ReadSuspension.of(ctx.channel())
+            .suspend(SuspendReason.RATE_LIMIT);
+        ctx.executor()
+            .schedule(() -> resume(ctx), wait, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Resumes reading, unless another handler keeps it suspended. If the buckets are still in debt, as other
+     * connections took from the global ones, keeps waiting.
+     *
+     * @param ctx
+     *            channel context
+     */
+    private final void resume(final ChannelHandlerContext ctx) {
+        final long wait;
+
+        wait = getWait();
+        if (wait > 0) {
+            ctx.executor()
+                .schedule(() -> resume(ctx), wait, TimeUnit.NANOSECONDS);
+        } else {
+            paused = false;
+            ReadSuspension.of(ctx.channel())
+                .resume(SuspendReason.RATE_LIMIT);
+        }
+    }
+
+    /**
+     * Takes the tokens for a message from all the buckets, if all of them have enough.
+     *
+     * @param size
+     *            message size
+     * @return {@code true} if the tokens were taken, {@code false} otherwise
+     */
+    private final boolean tryAcquire(final long size) {
+        boolean acquired;
+        int     index;
+
+        acquired = true;
+        index = 0;
+        while (acquired && (index < messageBuckets.length)) {
+            acquired = messageBuckets[index].tryAcquire(1);
+            index++;
+        }
+        index = 0;
+        while (acquired && (index < byteBuckets.length)) {
+            acquired = byteBuckets[index].tryAcquire(size);
+            index++;
+        }
+
+        return acquired;
+    }
+
+}
@@ -0,0 +1,145 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.channel;
+
+import java.util.Objects;
+
+/**
+ * Applies a set of rate limits. Holds the buckets shared by all the connections, and creates those for each of them.
+ * <p>
+ * It is immutable, so changing the limits means replacing it. Connections pick up the replacement on their next
+ * message, starting with new buckets for the connection, while the global ones start anew with the replacement.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class RateLimiter {
+
+    /**
+     * Bytes bucket shared by all the connections. Null if there is no global bytes limit.
+     */
+    private final TokenBucket globalBytes;
+
+    /**
+     * Messages bucket shared by all the connections. Null if there is no global messages limit.
+     */
+    private final TokenBucket globalMessages;
+
+    /**
+     * Limits to apply.
+     */
+    private final RateLimits  limits;
+
+    /**
+     * Constructs a limiter for the given limits.
+     *
+     * @param lmts
+     *            limits to apply
+     */
+    public RateLimiter(final RateLimits lmts) {
+        super();
+
+        limits = Objects.requireNonNull(lmts);
+
+        globalMessages = createBucket(limits.getGlobalMessageRate());
+        globalBytes = createBucket(limits.getGlobalByteRate());
+    }
+
+    /**
+     * Returns the limits applied.
+     *
+     * @return the limits applied
+     */
+    public final RateLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Returns the buckets limiting the bytes received by a new connection. These are a new one for the connection, and
+     * the global one, if there are such limits.
+     *
+     * @return the buckets for the bytes received
+     */
+    final TokenBucket[] createByteBuckets() {
+        return createBuckets(limits.getConnectionByteRate(), globalBytes);
+    }
+
+    /**
+     * Returns the buckets limiting the messages received by a new connection. These are a new one for the connection,
+     * and the global one, if there are such limits.
+     *
+     * @return the buckets for the messages received
+     */
+    final TokenBucket[] createMessageBuckets() {
+        return createBuckets(limits.getConnectionMessageRate(), globalMessages);
+    }
+
+    /**
+     * Returns a bucket for the rate, or {@code null} if the rate is zero, as then there is no limit.
+     *
+     * @param rate
+     *            tokens per second
+     * @return a bucket for the rate
+     */
+    private final TokenBucket createBucket(final long rate) {
+        final TokenBucket bucket;
+
+        if (rate > 0) {
+            bucket = new TokenBucket(rate);
+        } else {
+            bucket = null;
+        }
+
+        return bucket;
+    }
+
+    /**
+     * Returns a new bucket for the connection rate, followed by the global bucket. Those missing are skipped.
+     *
+     * @param connectionRate
+     *            tokens per second for the connection
+     * @param global
+     *            global bucket, may be {@code null}
+     * @return the buckets for a connection
+     */
+    private final TokenBucket[] createBuckets(final long connectionRate, final TokenBucket global) {
+        final TokenBucket   connection;
+        final TokenBucket[] buckets;
+
+        connection = createBucket(connectionRate);
+        if ((connection != null) && (global != null)) {
+            buckets = new TokenBucket[] { connection, global };
+        } else if (connection != null) {
+            buckets = new TokenBucket[] { connection };
+        } else if (global != null) {
+            buckets = new TokenBucket[] { global };
+        } else {
+            buckets = new TokenBucket[0];
+        }
+
+        return buckets;
+    }
+
+}
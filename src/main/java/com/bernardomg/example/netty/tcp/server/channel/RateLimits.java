@@ -0,0 +1,80 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.channel;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Rate limits for the messages received. Rates equal or below zero mean there is no such limit.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Value
+@Builder
+public final class RateLimits {
+
+    /**
+     * Bytes per second each connection can receive.
+     */
+    @Builder.Default
+    private final long            connectionByteRate = 0;
+
+    /**
+     * Messages per second each connection can receive.
+     */
+    @Builder.Default
+    private final long            connectionMessageRate = 0;
+
+    /**
+     * Bytes per second all the connections together can receive.
+     */
+    @Builder.Default
+    private final long            globalByteRate = 0;
+
+    /**
+     * Messages per second all the connections together can receive.
+     */
+    @Builder.Default
+    private final long            globalMessageRate = 0;
+
+    /**
+     * What to do with messages over the limits.
+     */
+    @Builder.Default
+    private final RateLimitPolicy policy = RateLimitPolicy.PAUSE;
+
+    /**
+     * Returns if there is any limit.
+     *
+     * @return {@code true} if there is any limit, {@code false} otherwise
+     */
+    public final boolean isLimited() {
+        return (connectionByteRate > 0) || (connectionMessageRate > 0) || (globalByteRate > 0)
+                || (globalMessageRate > 0);
+    }
+
+}
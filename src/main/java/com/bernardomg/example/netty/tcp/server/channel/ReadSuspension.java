@@ -0,0 +1,179 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.channel;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelConfig;
+import io.netty.util.AttributeKey;
+
+/**
+ * Suspended reads for a channel, shared by all the handlers which may suspend them. Reads are suspended while there is
+ * any reason for it, and resume only once all of them are gone, so a handler never resumes reads another one
+ * suspended.
+ * <p>
+ * Reactor Netty toggles auto read depending on the demand of the request subscriber. So auto read is saved when
+ * suspending, and restored when resuming, instead of enabling it. If it was enabled meanwhile, it is kept enabled.
+ * <p>
+ * Disabling auto read alone doesn't stop the reads already requested, so handlers should also hold back any read
+ * request while suspended, through {@link #holdRead()}. It is requested again when resuming.
+ * <p>
+ * Only to be used from the channel event loop.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class ReadSuspension {
+
+    /**
+     * Channel attribute holding the suspension.
+     */
+    private static final AttributeKey<ReadSuspension> KEY = AttributeKey.valueOf("readSuspension");
+
+    /**
+     * Auto read flag before suspending.
+     */
+    private boolean                                   autoRead;
+
+    /**
+     * Channel to suspend.
+     */
+    private final Channel                             channel;
+
+    /**
+     * Reasons for the current suspension.
+     */
+    private final Set<SuspendReason>                  reasons = EnumSet.noneOf(SuspendReason.class);
+
+    /**
+     * Read held back flag. Active if a read was requested while suspended.
+     */
+    private boolean                                   readHeld;
+
+    /**
+     * Constructs a suspension for the channel.
+     *
+     * @param chnl
+     *            channel to suspend
+     */
+    private ReadSuspension(final Channel chnl) {
+        super();
+
+        channel = chnl;
+    }
+
+    /**
+     * Returns the suspension for the channel, creating it if needed.
+     *
+     * @param channel
+     *            channel to get the suspension for
+     * @return the suspension for the channel
+     */
+    public static final ReadSuspension of(final Channel channel) {
+        final ReadSuspension created;
+        final ReadSuspension existing;
+        final ReadSuspension result;
+
+        created = new ReadSuspension(channel);
+        existing = channel.attr(KEY)
+            .setIfAbsent(created);
+        if (existing != null) {
+            result = existing;
+        } else {
+            result = created;
+        }
+
+        return result;
+    }
+
+    /**
+     * Holds back a read request if suspended. Otherwise it should be sent on.
+     *
+     * @return {@code true} if the read was held back, {@code false} otherwise
+     */
+    public final boolean holdRead() {
+        final boolean held;
+
+        if (reasons.isEmpty()) {
+            held = false;
+        } else {
+            readHeld = true;
+            held = true;
+        }
+
+        return held;
+    }
+
+    /**
+     * Returns if the reads are suspended.
+     *
+     * @return {@code true} if the reads are suspended, {@code false} otherwise
+     */
+    public final boolean isSuspended() {
+        return !reasons.isEmpty();
+    }
+
+    /**
+     * Removes a reason for suspending. If there are no reasons left, restores auto read, and requests any read held
+     * back.
+     *
+     * @param reason
+     *            reason removed
+     */
+    public final void resume(final SuspendReason reason) {
+        final ChannelConfig config;
+
+        if (reasons.remove(reason) && reasons.isEmpty()) {
+            config = channel.config();
+            if (!config.isAutoRead()) {
+                config.setAutoRead(autoRead);
+            }
+            if (readHeld) {
+                readHeld = false;
+                channel.read();
+            }
+        }
+    }
+
+    /**
+     * Adds a reason for suspending. The first one saves and disables auto read.
+     *
+     * @param reason
+     *            reason added
+     */
+    public final void suspend(final SuspendReason reason) {
+        final ChannelConfig config;
+
+        if (reasons.isEmpty()) {
+            config = channel.config();
+            autoRead = config.isAutoRead();
+            config.setAutoRead(false);
+        }
+        reasons.add(reason);
+    }
+
+}
@@ -0,0 +1,144 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.channel;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Refills at a fixed rate, and holds up to one second of tokens, which allows bursts.
+ * <p>
+ * Implemented as a generic cell rate algorithm, so all the state is the time at which the bucket would be full again.
+ * Taking tokens moves this time forward with a single compare and swap, and it can be shared by several threads.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class TokenBucket {
+
+    /**
+     * Time at which the bucket is full again, in nanoseconds. If in the past, the bucket is full.
+     */
+    private final AtomicLong full;
+
+    /**
+     * Time it takes to refill a token, in nanoseconds.
+     */
+    private final double     nanosPerToken;
+
+    /**
+     * Time it takes to refill the whole bucket, in nanoseconds. The bucket can't be emptier than this.
+     */
+    private final long       tolerance;
+
+    /**
+     * Constructs a full bucket with the given rate.
+     *
+     * @param rate
+     *            tokens per second
+     */
+    public TokenBucket(final long rate) {
+        super();
+
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Rate should be positive, received " + rate);
+        }
+
+        nanosPerToken = (double) TimeUnit.SECONDS.toNanos(1) / rate;
+        tolerance = TimeUnit.SECONDS.toNanos(1);
+        full = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes the tokens, even if there are not enough of them, and returns how long to wait until the bucket has tokens
+     * again. Waiting that long keeps the rate.
+     *
+     * @param tokens
+     *            tokens to take
+     * @return nanoseconds to wait until there are tokens again, or zero if there was no debt
+     */
+    public final long acquire(final long tokens) {
+        final long cost;
+        long       current;
+        long       now;
+        long       next;
+
+        cost = getCost(tokens);
+        do {
+            current = full.get();
+            now = System.nanoTime();
+            next = Math.max(current, now) + cost;
+        } while (!full.compareAndSet(current, next));
+
+        return Math.max(0, next - now - tolerance);
+    }
+
+    /**
+     * Returns how long to wait until the bucket has tokens again.
+     *
+     * @return nanoseconds to wait until there are tokens again, or zero if there are tokens
+     */
+    public final long getWait() {
+        return Math.max(0, full.get() - System.nanoTime() - tolerance);
+    }
+
+    /**
+     * Takes the tokens, if there are enough of them.
+     *
+     * @param tokens
+     *            tokens to take
+     * @return {@code true} if the tokens were taken, {@code false} otherwise
+     */
+    public final boolean tryAcquire(final long tokens) {
+        final long cost;
+        long       current;
+        long       now;
+        long       next;
+        boolean    acquired;
+
+        cost = getCost(tokens);
+        do {
+            current = full.get();
+            now = System.nanoTime();
+            next = Math.max(current, now) + cost;
+            acquired = (next - now) <= tolerance;
+        } while (acquired && !full.compareAndSet(current, next));
+
+        return acquired;
+    }
+
+    /**
+     * Returns the time it takes to refill the tokens. Capped to the full bucket, so a request larger than the bucket
+     * can still pass when it is full.
+     *
+     * @param tokens
+     *            tokens to refill
+     * @return nanoseconds to refill the tokens
+     */
+    private final long getCost(final long tokens) {
+        return Math.min((long) (tokens * nanosPerToken), tolerance);
+    }
+
+}
@@ -0,0 +1,64 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.framing;
+
+import io.netty.handler.codec.FixedLengthFrameDecoder;
+import reactor.netty.Connection;
+
+/**
+ * Fixed length framing. Each request is made of a fixed number of bytes. Responses are sent untouched.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class FixedLengthFraming implements Framing {
+
+    /**
+     * Length of each frame.
+     */
+    private final int frameLength;
+
+    /**
+     * Constructs a fixed length framing.
+     *
+     * @param length
+     *            length of each frame
+     */
+    public FixedLengthFraming(final int length) {
+        super();
+
+        if (length <= 0) {
+            throw new IllegalArgumentException("Frame length should be positive, received " + length);
+        }
+
+        frameLength = length;
+    }
+
+    @Override
+    public final void install(final Connection connection) {
+        connection.addHandlerLast("frameDecoder", new FixedLengthFrameDecoder(frameLength));
+    }
+
+}
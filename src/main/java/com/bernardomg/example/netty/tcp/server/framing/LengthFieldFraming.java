@@ -0,0 +1,90 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.framing;
+
+import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
+import io.netty.handler.codec.LengthFieldPrepender;
+import reactor.netty.Connection;
+
+/**
+ * Length prefixed framing. Each message starts with a big endian length field, which is removed from requests and
+ * added to responses.
+ * <p>
+ * The maximum length applies to the message, so the length field is not counted, the same as line breaks for line
+ * framing.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class LengthFieldFraming implements Framing {
+
+    /**
+     * Size in bytes of the length field.
+     */
+    private final int lengthFieldLength;
+
+    /**
+     * Maximum length for a message, without the length field. Longer messages are rejected.
+     */
+    private final int maxLength;
+
+    /**
+     * Constructs a length prefixed framing.
+     *
+     * @param fieldLength
+     *            size in bytes of the length field, one of 1, 2, 3, 4 or 8
+     * @param max
+     *            maximum message length, without the length field
+     */
+    public LengthFieldFraming(final int fieldLength, final int max) {
+        super();
+
+        if ((fieldLength != 1) && (fieldLength != 2) && (fieldLength != 3) && (fieldLength != 4)
+                && (fieldLength != 8)) {
+            throw new IllegalArgumentException(
+                "Length field should be of 1, 2, 3, 4 or 8 bytes, received " + fieldLength);
+        }
+        if (max <= 0) {
+            throw new IllegalArgumentException("Maximum frame length should be positive, received " + max);
+        }
+
+        lengthFieldLength = fieldLength;
+        maxLength = max;
+    }
+
+    @Override
+    public final void install(final Connection connection) {
+        final int maxFrameLength;
+
+        // The decoder limit includes the length field
+        maxFrameLength = (int) Math.min(Integer.MAX_VALUE, (long) maxLength + lengthFieldLength);
+
+        connection
+            .addHandlerLast("frameDecoder",
+                new LengthFieldBasedFrameDecoder(maxFrameLength, 0, lengthFieldLength, 0, lengthFieldLength))
+            .addHandlerFirst("frameEncoder", new LengthFieldPrepender(lengthFieldLength));
+    }
+
+}
@@ -0,0 +1,64 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.framing;
+
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageEncoder;
+
+/**
+ * Appends a line break after each outbound message. The delimiter is a shared buffer, so nothing is copied.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Sharable
+final class LineDelimiterEncoder extends MessageToMessageEncoder<ByteBuf> {
+
+    /**
+     * Line delimiter.
+     */
+    private static final ByteBuf DELIMITER = Unpooled
+        .unreleasableBuffer(Unpooled.wrappedBuffer(new byte[] { '\n' })
+            .asReadOnly());
+
+    /**
+     * Default constructor.
+     */
+    public LineDelimiterEncoder() {
+        super();
+    }
+
+    @Override
+    protected final void encode(final ChannelHandlerContext ctx, final ByteBuf msg, final List<Object> out) {
+        out.add(msg.retain());
+        out.add(DELIMITER.duplicate());
+    }
+
+}
@@ -0,0 +1,65 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.framing;
+
+import io.netty.handler.codec.LineBasedFrameDecoder;
+import reactor.netty.Connection;
+
+/**
+ * Line framing. Each message ends with a line break, which is removed from requests and appended to responses.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class LineFraming implements Framing {
+
+    /**
+     * Maximum length for a line. Longer lines are rejected.
+     */
+    private final int maxLength;
+
+    /**
+     * Constructs a line framing with the given maximum line length.
+     *
+     * @param max
+     *            maximum line length
+     */
+    public LineFraming(final int max) {
+        super();
+
+        if (max <= 0) {
+            throw new IllegalArgumentException("Maximum line length should be positive, received " + max);
+        }
+
+        maxLength = max;
+    }
+
+    @Override
+    public final void install(final Connection connection) {
+        connection.addHandlerLast("frameDecoder", new LineBasedFrameDecoder(maxLength, true, true))
+            .addHandlerFirst("frameEncoder", new LineDelimiterEncoder());
+    }
+
+}
@@ -0,0 +1,433 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.listener;
+
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import com.bernardomg.example.netty.tcp.server.TransactionListener;
+import com.bernardomg.example.netty.tcp.server.metrics.ConnectionSnapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Transaction listener which sends the message events to another listener in a dedicated thread. This way a slow
+ * listener doesn't stall the I/O threads.
+ * <p>
+ * Events are kept in a bounded, lock-free queue. When the queue is full the overflow policy is applied. Dropped events
+ * are counted. Connection events are never sampled, as they are needed to follow each client.
+ * <p>
+ * Start and stop events are sent directly. When stopping, the queued events are consumed before sending the stop
+ * event. Events received while not running, such as those from connections closing after stopping, are dropped.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class AsyncTransactionListener implements TransactionListener {
+
+    /**
+     * Listener event.
+     */
+    private static final class Event {
+
+        /**
+         * Connection, for connection events.
+         */
+        private final ConnectionSnapshot connection;
+
+        /**
+         * Message, for message events.
+         */
+        private final String             message;
+
+        /**
+         * Event type.
+         */
+        private final EventType          type;
+
+        /**
+         * Constructs a connection event.
+         *
+         * @param tp
+         *            event type
+         * @param conn
+         *            connection
+         */
+        private Event(final EventType tp, final ConnectionSnapshot conn) {
+            super();
+
+            type = tp;
+            connection = conn;
+            message = null;
+        }
+
+        /**
+         * Constructs a message event.
+         *
+         * @param tp
+         *            event type
+         * @param msg
+         *            message
+         */
+        private Event(final EventType tp, final String msg) {
+            super();
+
+            type = tp;
+            message = msg;
+            connection = null;
+        }
+
+    }
+
+    /**
+     * Listener event types.
+     */
+    private enum EventType {
+
+        /**
+         * Client connected.
+         */
+        CONNECT,
+        /**
+         * Client disconnected.
+         */
+        DISCONNECT,
+        /**
+         * Request received.
+         */
+        REQUEST,
+        /**
+         * Response sent.
+         */
+        RESPONSE
+
+    }
+
+    /**
+     * Number of empty polls the consumer spins before starting to park.
+     */
+    private static final int            SPIN_TRIES = 100;
+
+    /**
+     * Consumer thread.
+     */
+    private Thread                      consumer;
+
+    /**
+     * Dropped events.
+     */
+    private final LongAdder             dropped = new LongAdder();
+
+    /**
+     * Wrapped listener, which receives the events in the consumer thread.
+     */
+    private final TransactionListener   listener;
+
+    /**
+     * Parked flag. Set by the consumer before parking, so producers know it has to be woken up.
+     */
+    private volatile boolean            parked;
+
+    /**
+     * Overflow policy.
+     */
+    private final OverflowPolicy        policy;
+
+    /**
+     * Number of threads currently queuing events. Stopping waits for them, so no event is queued after the consumer
+     * finishes.
+     */
+    private final AtomicInteger         producers = new AtomicInteger();
+
+    /**
+     * Event queue.
+     */
+    private final MpscRingBuffer<Event> queue;
+
+    /**
+     * Running flag. The consumer stops after it is disabled and the queue is empty.
+     */
+    private volatile boolean            running;
+
+    /**
+     * Sample rate. When sampling, one of this number of events is queued.
+     */
+    private final int                   sampleRate;
+
+    /**
+     * Queue size from which the events are sampled.
+     */
+    private final int                   sampleThreshold;
+
+    /**
+     * Constructs an asynchronous listener.
+     *
+     * @param lst
+     *            listener to receive the events
+     * @param capacity
+     *            queue capacity, rounded up to the next power of two
+     * @param plcy
+     *            overflow policy
+     * @param rate
+     *            sample rate, one of this number of events are kept when sampling
+     */
+    public AsyncTransactionListener(final TransactionListener lst, final int capacity, final OverflowPolicy plcy,
+            final int rate) {
+        super();
+
+        if (rate <= 0) {
+            throw new IllegalArgumentException("Sample rate should be positive, received " + rate);
+        }
+
+        listener = Objects.requireNonNull(lst);
+        policy = Objects.requireNonNull(plcy);
+        queue = new MpscRingBuffer<>(capacity);
+        sampleRate = rate;
+        sampleThreshold = queue.capacity() / 2;
+    }
+
+    /**
+     * Returns the number of events dropped because of the overflow policy.
+     *
+     * @return the number of dropped events
+     */
+    public final long getDroppedEvents() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the number of events waiting in the queue.
+     *
+     * @return the number of queued events
+     */
+    public final int getQueuedEvents() {
+        return queue.size();
+    }
+
+    @Override
+    public final void onConnect(final ConnectionSnapshot connection) {
+        enqueue(new Event(EventType.CONNECT, connection));
+    }
+
+    @Override
+    public final void onDisconnect(final ConnectionSnapshot connection) {
+        enqueue(new Event(EventType.DISCONNECT, connection));
+    }
+
+    @Override
+    public final void onRequest(final String message) {
+        enqueue(new Event(EventType.REQUEST, message));
+    }
+
+    @Override
+    public final void onResponse(final String message) {
+        enqueue(new Event(EventType.RESPONSE, message));
+    }
+
+    @Override
+    public final void onStart() {
+        listener.onStart();
+
+        running = true;
+        consumer = new Thread(this::consume, "transaction-listener");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public final void onStop() {
+        running = false;
+
+        // Events are queued only while running, so after this no more are queued
+        while (producers.get() > 0) {
+            Thread.onSpinWait();
+        }
+
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+            try {
+                consumer.join();
+            } catch (final InterruptedException e) {
+                log.warn("Interrupted while waiting for the queued events", e);
+                Thread.currentThread()
+                    .interrupt();
+            }
+        }
+
+        listener.onStop();
+    }
+
+    /**
+     * Consumes events until stopped. The queue is drained before finishing.
+     */
+    private final void consume() {
+        boolean stopping;
+        Event   event;
+        int     idle;
+
+        idle = 0;
+        do {
+            // Read before polling, so everything queued before stopping is consumed
+            stopping = !running;
+            event = queue.poll();
+            if (event != null) {
+                idle = 0;
+                dispatch(event);
+            } else if (!stopping) {
+                idle++;
+                idle(idle);
+            }
+        } while ((event != null) || !stopping);
+    }
+
+    /**
+     * Sends the event to the wrapped listener.
+     *
+     * @param event
+     *            event to send
+     */
+    private final void dispatch(final Event event) {
+        try {
+            switch (event.type) {
+                case CONNECT:
+                    listener.onConnect(event.connection);
+                    break;
+                case DISCONNECT:
+                    listener.onDisconnect(event.connection);
+                    break;
+                case REQUEST:
+                    listener.onRequest(event.message);
+                    break;
+                default:
+                    listener.onResponse(event.message);
+            }
+        } catch (final RuntimeException e) {
+            log.error("Listener failed handling event", e);
+        }
+    }
+
+    /**
+     * Queues the event, applying the overflow policy. If the listener is not running the event is dropped, as there may
+     * be no consumer left to take it.
+     *
+     * @param event
+     *            event to queue
+     */
+    private final void enqueue(final Event event) {
+        final boolean queued;
+
+        // Registered before checking the running flag, so stopping waits for this event to be queued
+        producers.incrementAndGet();
+        try {
+            if (!running) {
+                queued = false;
+            } else {
+                queued = offer(event);
+            }
+        } finally {
+            producers.decrementAndGet();
+        }
+
+        if (!queued) {
+            dropped.increment();
+        } else if (parked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Waits while there are no events. Spins first, then parks until a producer queues an event or the listener is
+     * stopped, so an idle server doesn't wake the consumer.
+     *
+     * @param count
+     *            number of consecutive empty polls
+     */
+    private final void idle(final int count) {
+        if (count < SPIN_TRIES) {
+            Thread.onSpinWait();
+        } else {
+            // Flagged before checking the queue again, so an event queued after the check unparks the consumer
+            parked = true;
+            if ((queue.size() == 0) && running) {
+                LockSupport.park(this);
+            }
+            parked = false;
+        }
+    }
+
+    /**
+     * Offers the event, applying the overflow policy.
+     *
+     * @param event
+     *            event to queue
+     * @return {@code true} if the event was queued
+     */
+    private final boolean offer(final Event event) {
+        final boolean queued;
+
+        switch (policy) {
+            case BLOCK:
+                queued = offerBlocking(event);
+                break;
+            case SAMPLE:
+                if ((event.message != null) && (queue.size() >= sampleThreshold) && (ThreadLocalRandom.current()
+                    .nextInt(sampleRate) != 0)) {
+                    // Not sampled
+                    queued = false;
+                } else {
+                    queued = queue.offer(event);
+                }
+                break;
+            default:
+                queued = queue.offer(event);
+        }
+
+        return queued;
+    }
+
+    /**
+     * Offers the event until there is space in the queue, or the listener is stopped.
+     *
+     * @param event
+     *            event to queue
+     * @return {@code true} if the event was queued
+     */
+    private final boolean offerBlocking(final Event event) {
+        boolean queued;
+
+        queued = queue.offer(event);
+        while (!queued && running) {
+            LockSupport.parkNanos(1000L);
+            queued = queue.offer(event);
+        }
+
+        return queued;
+    }
+
+}
@@ -0,0 +1,174 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.listener;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free ring buffer for multiple producers and a single consumer.
+ * <p>
+ * Each slot keeps a sequence number. Producers claim a slot by moving the producer index with a CAS, and publish the
+ * element by updating the slot sequence. The consumer only reads slots which have been published, and then releases
+ * them for the next lap.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ * @param <E>
+ *            type of the elements
+ */
+public final class MpscRingBuffer<E> {
+
+    /**
+     * Elements.
+     */
+    private final AtomicReferenceArray<E> buffer;
+
+    /**
+     * Buffer capacity. Always a power of two.
+     */
+    private final int                     capacity;
+
+    /**
+     * Index of the next element to consume. Only written by the consumer.
+     */
+    private final AtomicLong              consumerIndex = new AtomicLong();
+
+    /**
+     * Mask for transforming indexes into slots.
+     */
+    private final int                     mask;
+
+    /**
+     * Index of the next slot to claim by a producer.
+     */
+    private final AtomicLong              producerIndex = new AtomicLong();
+
+    /**
+     * Sequence for each slot. Tells if the slot is free for the producers, or published for the consumer.
+     */
+    private final AtomicLongArray         sequences;
+
+    /**
+     * Constructs a ring buffer with, at least, the received capacity. It will be rounded to the next power of two.
+     *
+     * @param cap
+     *            minimum capacity
+     */
+    public MpscRingBuffer(final int cap) {
+        super();
+
+        if ((cap <= 0) || (cap > (1 << 30))) {
+            throw new IllegalArgumentException("Capacity should be between 1 and 2^30, received " + cap);
+        }
+
+        capacity = 1 << (32 - Integer.numberOfLeadingZeros(cap - 1));
+        mask = capacity - 1;
+        buffer = new AtomicReferenceArray<>(capacity);
+        sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Returns the buffer capacity.
+     *
+     * @return the buffer capacity
+     */
+    public final int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Adds an element, if there is space for it. Can be called by any thread.
+     *
+     * @param element
+     *            element to add
+     * @return {@code true} if the element was added, {@code false} if the buffer is full
+     */
+    public final boolean offer(final E element) {
+        long index;
+        int  slot;
+        long difference;
+
+        do {
+            index = producerIndex.get();
+            slot = (int) index & mask;
+            difference = sequences.get(slot) - index;
+            if (difference < 0) {
+                // The slot was not consumed yet, the buffer is full
+                return false;
+            }
+        } while ((difference > 0) || !producerIndex.compareAndSet(index, index + 1));
+
+        buffer.lazySet(slot, element);
+        // Publishes the element
+        sequences.set(slot, index + 1);
+
+        return true;
+    }
+
+    /**
+     * Removes and returns the next element. Should only be called by the consumer thread.
+     *
+     * @return the next element, or {@code null} if there are no published elements
+     */
+    public final E poll() {
+        final long index;
+        final int  slot;
+        final E    element;
+
+        index = consumerIndex.get();
+        slot = (int) index & mask;
+        if (sequences.get(slot) != (index + 1)) {
+            // Empty, or the element is not published yet
+            return null;
+        }
+
+        element = buffer.get(slot);
+        buffer.lazySet(slot, null);
+        // Frees the slot for the next lap
+        sequences.set(slot, index + capacity);
+        consumerIndex.lazySet(index + 1);
+
+        return element;
+    }
+
+    /**
+     * Returns an estimation of the number of elements in the buffer.
+     *
+     * @return the estimated size
+     */
+    public final int size() {
+        final long size;
+
+        size = producerIndex.get() - consumerIndex.get();
+
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+}
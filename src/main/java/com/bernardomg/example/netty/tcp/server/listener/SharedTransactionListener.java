@@ -0,0 +1,89 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.listener;
+
+import java.util.Objects;
+
+import com.bernardomg.example.netty.tcp.server.TransactionListener;
+import com.bernardomg.example.netty.tcp.server.metrics.ConnectionSnapshot;
+
+/**
+ * Transaction listener for a server which shares the listener of another one. Sends the connection and message events
+ * to the shared listener, but not the start and stop events, as the shared listener is started and stopped by the
+ * server owning it.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class SharedTransactionListener implements TransactionListener {
+
+    /**
+     * Shared listener receiving the events.
+     */
+    private final TransactionListener listener;
+
+    /**
+     * Constructs a listener sending the events to the shared one.
+     *
+     * @param lst
+     *            shared listener
+     */
+    public SharedTransactionListener(final TransactionListener lst) {
+        super();
+
+        listener = Objects.requireNonNull(lst);
+    }
+
+    @Override
+    public final void onConnect(final ConnectionSnapshot connection) {
+        listener.onConnect(connection);
+    }
+
+    @Override
+    public final void onDisconnect(final ConnectionSnapshot connection) {
+        listener.onDisconnect(connection);
+    }
+
+    @Override
+    public final void onRequest(final String message) {
+        listener.onRequest(message);
+    }
+
+    @Override
+    public final void onResponse(final String message) {
+        listener.onResponse(message);
+    }
+
+    @Override
+    public final void onStart() {
+        // Started by the owner
+    }
+
+    @Override
+    public final void onStop() {
+        // Stopped by the owner
+    }
+
+}
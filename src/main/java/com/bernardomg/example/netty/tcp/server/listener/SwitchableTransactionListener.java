@@ -0,0 +1,107 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.listener;
+
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+
+import com.bernardomg.example.netty.tcp.server.TransactionListener;
+import com.bernardomg.example.netty.tcp.server.metrics.ConnectionSnapshot;
+
+/**
+ * Transaction listener which sends the events to another listener only while it is switched on. The switch is checked
+ * on each event, so it can change while running.
+ * <p>
+ * Start and stop events are always sent.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class SwitchableTransactionListener implements TransactionListener {
+
+    /**
+     * Switch. Events are sent while it returns {@code true}.
+     */
+    private final BooleanSupplier     enabled;
+
+    /**
+     * Listener receiving the events.
+     */
+    private final TransactionListener listener;
+
+    /**
+     * Constructs a listener sending the events to the received one while the switch is on.
+     *
+     * @param lst
+     *            listener receiving the events
+     * @param enbld
+     *            switch for the events
+     */
+    public SwitchableTransactionListener(final TransactionListener lst, final BooleanSupplier enbld) {
+        super();
+
+        listener = Objects.requireNonNull(lst);
+        enabled = Objects.requireNonNull(enbld);
+    }
+
+    @Override
+    public final void onConnect(final ConnectionSnapshot connection) {
+        if (enabled.getAsBoolean()) {
+            listener.onConnect(connection);
+        }
+    }
+
+    @Override
+    public final void onDisconnect(final ConnectionSnapshot connection) {
+        if (enabled.getAsBoolean()) {
+            listener.onDisconnect(connection);
+        }
+    }
+
+    @Override
+    public final void onRequest(final String message) {
+        if (enabled.getAsBoolean()) {
+            listener.onRequest(message);
+        }
+    }
+
+    @Override
+    public final void onResponse(final String message) {
+        if (enabled.getAsBoolean()) {
+            listener.onResponse(message);
+        }
+    }
+
+    @Override
+    public final void onStart() {
+        listener.onStart();
+    }
+
+    @Override
+    public final void onStop() {
+        listener.onStop();
+    }
+
+}
@@ -0,0 +1,80 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.metrics;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Allocator metrics at a point in time. Pool values are zero for allocators which are not pooled.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Value
+@Builder
+public final class AllocatorSnapshot {
+
+    /**
+     * Allocations served by the arenas, because the thread caches couldn't serve them.
+     */
+    private final long    arenaAllocations;
+
+    /**
+     * Pool chunk size, in bytes.
+     */
+    private final long    chunkSize;
+
+    /**
+     * Direct memory arenas.
+     */
+    private final int     directArenas;
+
+    /**
+     * Heap memory arenas.
+     */
+    private final int     heapArenas;
+
+    /**
+     * Pooled flag. Active if the allocator reuses buffers.
+     */
+    private final boolean pooled;
+
+    /**
+     * Thread local caches in use.
+     */
+    private final int     threadLocalCaches;
+
+    /**
+     * Direct memory in use, in bytes.
+     */
+    private final long    usedDirectMemory;
+
+    /**
+     * Heap memory in use, in bytes.
+     */
+    private final long    usedHeapMemory;
+
+}
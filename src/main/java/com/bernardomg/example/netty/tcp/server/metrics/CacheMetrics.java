@@ -0,0 +1,132 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Response cache metrics. Counters are striped, so the I/O threads can update them without contention.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class CacheMetrics {
+
+    /**
+     * Entries in the cache.
+     */
+    private final LongAdder entries   = new LongAdder();
+
+    /**
+     * Entries removed.
+     */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Requests answered from the cache.
+     */
+    private final LongAdder hits      = new LongAdder();
+
+    /**
+     * Memory used by the entries.
+     */
+    private final LongAdder memory    = new LongAdder();
+
+    /**
+     * Requests whose response had to be computed.
+     */
+    private final LongAdder misses    = new LongAdder();
+
+    /**
+     * Default constructor.
+     */
+    public CacheMetrics() {
+        super();
+    }
+
+    /**
+     * Registers an entry removed from the cache.
+     *
+     * @param bytes
+     *            memory used by the entry
+     */
+    public final void onEvict(final long bytes) {
+        evictions.increment();
+        entries.decrement();
+        memory.add(-bytes);
+    }
+
+    /**
+     * Registers a request answered from the cache.
+     */
+    public final void onHit() {
+        hits.increment();
+    }
+
+    /**
+     * Registers a request whose response had to be computed.
+     */
+    public final void onMiss() {
+        misses.increment();
+    }
+
+    /**
+     * Registers an entry removed when clearing the cache. It is not counted as an eviction.
+     *
+     * @param bytes
+     *            memory used by the entry
+     */
+    public final void onRemove(final long bytes) {
+        entries.decrement();
+        memory.add(-bytes);
+    }
+
+    /**
+     * Registers an entry added to the cache.
+     *
+     * @param bytes
+     *            memory used by the entry
+     */
+    public final void onStore(final long bytes) {
+        entries.increment();
+        memory.add(bytes);
+    }
+
+    /**
+     * Returns the current values.
+     *
+     * @return the current values
+     */
+    public final CacheSnapshot snapshot() {
+        return CacheSnapshot.builder()
+            .entries(entries.sum())
+            .memory(memory.sum())
+            .hits(hits.sum())
+            .misses(misses.sum())
+            .evictions(evictions.sum())
+            .build();
+    }
+
+}
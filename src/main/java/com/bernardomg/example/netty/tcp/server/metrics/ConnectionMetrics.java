@@ -0,0 +1,139 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.metrics;
+
+import java.net.SocketAddress;
+import java.util.Objects;
+
+/**
+ * Metrics for a single connection. Not thread safe, it is expected to be updated by the connection event loop.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class ConnectionMetrics {
+
+    /**
+     * Bytes received.
+     */
+    private long                bytesIn;
+
+    /**
+     * Bytes sent.
+     */
+    private long                bytesOut;
+
+    /**
+     * Connection id.
+     */
+    private final String        id;
+
+    /**
+     * Time when the connection was opened, from {@link System#nanoTime()}.
+     */
+    private final long          openedAt = System.nanoTime();
+
+    /**
+     * Client address.
+     */
+    private final SocketAddress remoteAddress;
+
+    /**
+     * Requests received.
+     */
+    private long                requests;
+
+    /**
+     * Responses sent.
+     */
+    private long                responses;
+
+    /**
+     * Constructs metrics for a connection.
+     *
+     * @param ident
+     *            connection id
+     * @param address
+     *            client address
+     */
+    public ConnectionMetrics(final String ident, final SocketAddress address) {
+        super();
+
+        id = Objects.requireNonNull(ident);
+        remoteAddress = address;
+    }
+
+    /**
+     * Records bytes received.
+     *
+     * @param bytes
+     *            number of bytes received
+     */
+    public final void onBytesIn(final long bytes) {
+        bytesIn += bytes;
+    }
+
+    /**
+     * Records bytes sent.
+     *
+     * @param bytes
+     *            number of bytes sent
+     */
+    public final void onBytesOut(final long bytes) {
+        bytesOut += bytes;
+    }
+
+    /**
+     * Records a request being received.
+     */
+    public final void onRequest() {
+        requests++;
+    }
+
+    /**
+     * Records a response being sent.
+     */
+    public final void onResponse() {
+        responses++;
+    }
+
+    /**
+     * Returns the current values.
+     *
+     * @return a snapshot of the metrics
+     */
+    public final ConnectionSnapshot snapshot() {
+        return ConnectionSnapshot.builder()
+            .id(id)
+            .remoteAddress(remoteAddress)
+            .duration(System.nanoTime() - openedAt)
+            .bytesIn(bytesIn)
+            .bytesOut(bytesOut)
+            .requests(requests)
+            .responses(responses)
+            .build();
+    }
+
+}
@@ -0,0 +1,102 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.metrics;
+
+import java.util.Objects;
+
+import javax.net.ssl.SSLSession;
+
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.handler.ssl.SslHandler;
+import io.netty.handler.ssl.SslHandshakeCompletionEvent;
+
+/**
+ * Records the TLS handshake of a connection into the server metrics. Should be added after the TLS handler when the
+ * channel is initialized, so the handshake time starts with the connection. Removes itself once the handshake ends.
+ * <p>
+ * A handshake is taken as resumed when its session was created before the connection, as resumed sessions keep their
+ * original creation time.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class HandshakeMetricsHandler extends ChannelInboundHandlerAdapter {
+
+    /**
+     * Server metrics where the handshake is recorded.
+     */
+    private final ServerMetrics metrics;
+
+    /**
+     * Time at which the handshake started, in milliseconds since the epoch. Comparable with the session times.
+     */
+    private long                startMillis;
+
+    /**
+     * Time at which the handshake started, in nanoseconds.
+     */
+    private long                startNanos;
+
+    /**
+     * Constructs a handler recording into the received metrics.
+     *
+     * @param mtrcs
+     *            server metrics where the handshake is recorded
+     */
+    public HandshakeMetricsHandler(final ServerMetrics mtrcs) {
+        super();
+
+        metrics = Objects.requireNonNull(mtrcs);
+    }
+
+    @Override
+    public final void handlerAdded(final ChannelHandlerContext ctx) {
+        startNanos = System.nanoTime();
+        startMillis = System.currentTimeMillis();
+    }
+
+    @Override
+    public final void userEventTriggered(final ChannelHandlerContext ctx, final Object evt) throws Exception {
+        final SSLSession session;
+
+        if (evt instanceof SslHandshakeCompletionEvent) {
+            if (((SslHandshakeCompletionEvent) evt).isSuccess()) {
+                session = ctx.pipeline()
+                    .get(SslHandler.class)
+                    .engine()
+                    .getSession();
+                metrics.onHandshake(System.nanoTime() - startNanos, session.getCreationTime() < startMillis);
+            } else {
+                metrics.onHandshakeFailure();
+            }
+            ctx.pipeline()
+                .remove(this);
+        }
+
+        ctx.fireUserEventTriggered(evt);
+    }
+
+}
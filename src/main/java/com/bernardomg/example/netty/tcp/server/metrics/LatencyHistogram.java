@@ -0,0 +1,205 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram, with log-linear buckets in the style of HDR histograms.
+ * <p>
+ * Each power of two is split into 32 linear buckets, so any recorded value is kept with an error below 3.2%, from
+ * nanoseconds up to centuries, in a fixed set of counters. Recording is lock-free.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Bits used for the linear buckets inside each power of two.
+     */
+    private static final int      SUB_BUCKET_BITS = 5;
+
+    /**
+     * Linear buckets inside each power of two.
+     */
+    private static final int      SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Total number of buckets. Enough to cover all the positive long values.
+     */
+    private static final int      BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * Count of values for each bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Highest value recorded.
+     */
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    /**
+     * Sum of all the values recorded.
+     */
+    private final LongAdder       sum = new LongAdder();
+
+    /**
+     * Default constructor.
+     */
+    public LatencyHistogram() {
+        super();
+    }
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     *
+     * @param value
+     *            value to record
+     */
+    public final void record(final long value) {
+        final long positive;
+
+        positive = Math.max(0, value);
+        counts.incrementAndGet(bucketIndex(positive));
+        sum.add(positive);
+        max.accumulate(positive);
+    }
+
+    /**
+     * Returns a snapshot with the current distribution. Values are reported with the highest value of their bucket.
+     *
+     * @return a snapshot of the histogram
+     */
+    public final LatencySnapshot snapshot() {
+        final long[] copy;
+        final long   highest;
+        long         count;
+
+        copy = new long[BUCKETS];
+        count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        highest = max.get();
+
+        return LatencySnapshot.builder()
+            .count(count)
+            .sum(sum.sum())
+            .max(highest)
+            .p50(percentile(copy, count, highest, 50))
+            .p90(percentile(copy, count, highest, 90))
+            .p99(percentile(copy, count, highest, 99))
+            .p999(percentile(copy, count, highest, 99.9))
+            .build();
+    }
+
+    /**
+     * Returns the bucket for a value.
+     *
+     * @param value
+     *            value to store
+     * @return the bucket index
+     */
+    private final int bucketIndex(final long value) {
+        final int index;
+        final int highestBit;
+        final int shift;
+
+        if (value < SUB_BUCKETS) {
+            index = (int) value;
+        } else {
+            highestBit = (Long.SIZE - 1) - Long.numberOfLeadingZeros(value);
+            shift = highestBit - SUB_BUCKET_BITS;
+            index = ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) - SUB_BUCKETS);
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns the lowest value stored in a bucket.
+     *
+     * @param index
+     *            bucket index
+     * @return the lowest value for the bucket
+     */
+    private final long lowestValue(final int index) {
+        final int  block;
+        final int  offset;
+        final long value;
+
+        block = index >>> SUB_BUCKET_BITS;
+        offset = index & (SUB_BUCKETS - 1);
+        if (block == 0) {
+            value = offset;
+        } else {
+            value = ((long) (SUB_BUCKETS + offset)) << (block - 1);
+        }
+
+        return value;
+    }
+
+    /**
+     * Returns the value at the received percentile.
+     *
+     * @param copy
+     *            bucket counts
+     * @param count
+     *            total count
+     * @param highest
+     *            highest value recorded
+     * @param percentile
+     *            percentile to find
+     * @return the value at the percentile
+     */
+    private final long percentile(final long[] copy, final long count, final long highest,
+            final double percentile) {
+        final long target;
+        long       accumulated;
+        long       value;
+        int        index;
+
+        value = 0;
+        if (count > 0) {
+            target = Math.max(1, (long) Math.ceil((percentile / 100) * count));
+            accumulated = 0;
+            index = 0;
+            while ((index < BUCKETS) && (accumulated < target)) {
+                accumulated += copy[index];
+                index++;
+            }
+            // The bucket after the one which reached the target starts just above its highest value
+            value = Math.min(lowestValue(index) - 1, highest);
+        }
+
+        return value;
+    }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.metrics;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Latency distribution at a point in time. All the values are in nanoseconds.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Value
+@Builder
+public final class LatencySnapshot {
+
+    /**
+     * Number of values recorded.
+     */
+    private final long count;
+
+    /**
+     * Highest value recorded.
+     */
+    private final long max;
+
+    /**
+     * Median.
+     */
+    private final long p50;
+
+    /**
+     * 90th percentile.
+     */
+    private final long p90;
+
+    /**
+     * 99th percentile.
+     */
+    private final long p99;
+
+    /**
+     * 99.9th percentile.
+     */
+    private final long p999;
+
+    /**
+     * Sum of all the values recorded.
+     */
+    private final long sum;
+
+}
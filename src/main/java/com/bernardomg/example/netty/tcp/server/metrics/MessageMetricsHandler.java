@@ -0,0 +1,126 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.metrics;
+
+import java.util.Objects;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Records the requests and responses of a connection, and the latency between them, both into the server and the
+ * connection metrics. Should be after the framing, so each message read is a full request.
+ * <p>
+ * Responses are matched to requests in order. The time of the pending requests is kept in a fixed ring, if there are
+ * no responses the oldest ones are overwritten.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class MessageMetricsHandler extends ChannelDuplexHandler {
+
+    /**
+     * Maximum number of pending requests being tracked. Always a power of two.
+     */
+    private static final int        PENDING_CAPACITY = 1024;
+
+    /**
+     * Mask for transforming indexes into slots.
+     */
+    private static final int        PENDING_MASK = PENDING_CAPACITY - 1;
+
+    /**
+     * Connection metrics where the messages are recorded.
+     */
+    private final ConnectionMetrics connection;
+
+    /**
+     * Index of the oldest pending request.
+     */
+    private int                     head;
+
+    /**
+     * Server metrics where the messages are recorded.
+     */
+    private final ServerMetrics     metrics;
+
+    /**
+     * Time at which each pending request was received.
+     */
+    private final long[]            pending = new long[PENDING_CAPACITY];
+
+    /**
+     * Index for the next pending request.
+     */
+    private int                     tail;
+
+    /**
+     * Constructs a handler recording into the received metrics.
+     *
+     * @param mtrcs
+     *            server metrics where the messages are recorded
+     * @param conn
+     *            connection metrics where the messages are recorded
+     */
+    public MessageMetricsHandler(final ServerMetrics mtrcs, final ConnectionMetrics conn) {
+        super();
+
+        metrics = Objects.requireNonNull(mtrcs);
+        connection = Objects.requireNonNull(conn);
+    }
+
+    @Override
+    public final void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        metrics.onRequest();
+        connection.onRequest();
+
+        if ((tail - head) == PENDING_CAPACITY) {
+            // Full, the oldest request is discarded
+            head++;
+        }
+        pending[tail & PENDING_MASK] = System.nanoTime();
+        tail++;
+
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public final void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        if (msg instanceof ByteBuf) {
+            metrics.onResponse();
+            connection.onResponse();
+            if (tail != head) {
+                metrics.onLatency(System.nanoTime() - pending[head & PENDING_MASK]);
+                head++;
+            }
+        }
+
+        ctx.write(msg, promise);
+    }
+
+}
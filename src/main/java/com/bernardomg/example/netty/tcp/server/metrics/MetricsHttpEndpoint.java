@@ -0,0 +1,128 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.metrics;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * HTTP endpoint which publishes the metrics in the Prometheus text format, at the {@code /metrics} path.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class MetricsHttpEndpoint {
+
+    /**
+     * Formatter for the metrics.
+     */
+    private final PrometheusFormatter formatter = new PrometheusFormatter();
+
+    /**
+     * HTTP server. Created when starting.
+     */
+    private HttpServer                httpServer;
+
+    /**
+     * Metrics to publish.
+     */
+    private final ServerMetrics       metrics;
+
+    /**
+     * Port for the endpoint.
+     */
+    private final int                 port;
+
+    /**
+     * Constructs an endpoint for the given port.
+     *
+     * @param prt
+     *            port to listen
+     * @param mtrcs
+     *            metrics to publish
+     */
+    public MetricsHttpEndpoint(final int prt, final ServerMetrics mtrcs) {
+        super();
+
+        port = prt;
+        metrics = Objects.requireNonNull(mtrcs);
+    }
+
+    /**
+     * Starts the endpoint.
+     */
+    public final void start() {
+        log.debug("Publishing metrics on port {}", port);
+
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        httpServer.createContext("/metrics", this::handle);
+        httpServer.start();
+    }
+
+    /**
+     * Stops the endpoint.
+     */
+    public final void stop() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+        }
+    }
+
+    /**
+     * Answers a request with the current metrics.
+     *
+     * @param exchange
+     *            HTTP exchange
+     * @throws IOException
+     *             if the response can't be written
+     */
+    private final void handle(final HttpExchange exchange) throws IOException {
+        final byte[] body;
+
+        body = formatter.format(metrics.snapshot())
+            .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders()
+            .set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+}
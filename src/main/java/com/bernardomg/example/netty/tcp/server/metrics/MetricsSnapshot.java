@@ -0,0 +1,145 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.metrics;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Server metrics at a point in time. Counters are totals since the server started.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Value
+@Builder
+public final class MetricsSnapshot {
+
+    /**
+     * Connections currently open.
+     */
+    private final long              activeConnections;
+
+    /**
+     * Buffer allocator metrics.
+     */
+    private final AllocatorSnapshot allocator;
+
+    /**
+     * Bytes received.
+     */
+    private final long              bytesIn;
+
+    /**
+     * Bytes sent.
+     */
+    private final long              bytesOut;
+
+    /**
+     * Response cache metrics. Null if there is no cache.
+     */
+    private final CacheSnapshot     cache;
+
+    /**
+     * Bytes dropped for going over the rate limits.
+     */
+    private final long              droppedBytes;
+
+    /**
+     * Messages dropped for going over the rate limits.
+     */
+    private final long              droppedMessages;
+
+    /**
+     * TLS handshakes which failed.
+     */
+    private final long              handshakeFailures;
+
+    /**
+     * TLS handshake time.
+     */
+    private final LatencySnapshot   handshakeLatency;
+
+    /**
+     * TLS handshakes finished successfully.
+     */
+    private final long              handshakes;
+
+    /**
+     * Connections closed for being idle.
+     */
+    private final long              idleClosures;
+
+    /**
+     * Latency from receiving a request to sending its response.
+     */
+    private final LatencySnapshot   latency;
+
+    /**
+     * Bytes written and not yet sent.
+     */
+    private final long              pendingBytes;
+
+    /**
+     * Times connections paused reading for going over the rate limits.
+     */
+    private final long              rateLimitPauses;
+
+    /**
+     * Connections rejected for being over the limit.
+     */
+    private final long              rejectedConnections;
+
+    /**
+     * Requests received.
+     */
+    private final long              requests;
+
+    /**
+     * TLS handshakes which resumed a previous session.
+     */
+    private final long              resumedHandshakes;
+
+    /**
+     * Responses sent.
+     */
+    private final long              responses;
+
+    /**
+     * Connections currently throttled, not reading until their pending bytes are sent.
+     */
+    private final long              throttledConnections;
+
+    /**
+     * Time when the snapshot was taken, from {@link System#nanoTime()}.
+     */
+    private final long              timestamp;
+
+    /**
+     * Connections opened.
+     */
+    private final long              totalConnections;
+
+}
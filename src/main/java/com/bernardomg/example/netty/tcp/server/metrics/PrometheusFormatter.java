@@ -0,0 +1,234 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.metrics;
+
+/**
+ * Formats metrics into the Prometheus text format.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class PrometheusFormatter {
+
+    /**
+     * Prefix for all the metrics.
+     */
+    private static final String PREFIX = "tcp_server_";
+
+    /**
+     * Nanoseconds in a second.
+     */
+    private static final double NANOS_TO_SECONDS = 1_000_000_000D;
+
+    /**
+     * Default constructor.
+     */
+    public PrometheusFormatter() {
+        super();
+    }
+
+    /**
+     * Returns the metrics in the Prometheus text format.
+     *
+     * @param snapshot
+     *            metrics to format
+     * @return the metrics as text
+     */
+    public final String format(final MetricsSnapshot snapshot) {
+        final StringBuilder     builder;
+        final AllocatorSnapshot allocator;
+        final CacheSnapshot     cache;
+
+        builder = new StringBuilder();
+
+        appendMetric(builder, "connections_active", "gauge", "Connections currently open.",
+            snapshot.getActiveConnections());
+        appendMetric(builder, "connections_total", "counter", "Connections opened.", snapshot.getTotalConnections());
+        appendMetric(builder, "connections_throttled", "gauge",
+            "Connections not reading until their responses are sent.", snapshot.getThrottledConnections());
+        appendMetric(builder, "connections_rejected_total", "counter", "Connections rejected for being over the limit.",
+            snapshot.getRejectedConnections());
+        appendMetric(builder, "connections_idle_closed_total", "counter", "Connections closed for being idle.",
+            snapshot.getIdleClosures());
+        appendMetric(builder, "rate_limit_pauses_total", "counter", "Times connections paused for the rate limits.",
+            snapshot.getRateLimitPauses());
+        appendMetric(builder, "rate_limit_dropped_messages_total", "counter", "Messages dropped for the rate limits.",
+            snapshot.getDroppedMessages());
+        appendMetric(builder, "rate_limit_dropped_bytes_total", "counter", "Bytes dropped for the rate limits.",
+            snapshot.getDroppedBytes());
+        appendMetric(builder, "received_bytes_total", "counter", "Bytes received.", snapshot.getBytesIn());
+        appendMetric(builder, "sent_bytes_total", "counter", "Bytes sent.", snapshot.getBytesOut());
+        appendMetric(builder, "pending_bytes", "gauge", "Bytes written and not yet sent.", snapshot.getPendingBytes());
+        appendMetric(builder, "requests_total", "counter", "Requests received.", snapshot.getRequests());
+        appendMetric(builder, "responses_total", "counter", "Responses sent.", snapshot.getResponses());
+
+        allocator = snapshot.getAllocator();
+        appendMetric(builder, "allocator_used_direct_bytes", "gauge", "Direct memory used by the buffer allocator.",
+            allocator.getUsedDirectMemory());
+        appendMetric(builder, "allocator_used_heap_bytes", "gauge", "Heap memory used by the buffer allocator.",
+            allocator.getUsedHeapMemory());
+        if (allocator.isPooled()) {
+            appendMetric(builder, "allocator_direct_arenas", "gauge", "Direct memory arenas.",
+                allocator.getDirectArenas());
+            appendMetric(builder, "allocator_heap_arenas", "gauge", "Heap memory arenas.", allocator.getHeapArenas());
+            appendMetric(builder, "allocator_chunk_bytes", "gauge", "Pool chunk size.", allocator.getChunkSize());
+            appendMetric(builder, "allocator_thread_caches", "gauge", "Thread local caches in use.",
+                allocator.getThreadLocalCaches());
+            appendMetric(builder, "allocator_arena_allocations_total", "counter",
+                "Allocations served by the arenas instead of the thread caches.", allocator.getArenaAllocations());
+        }
+
+        cache = snapshot.getCache();
+        if (cache != null) {
+            appendMetric(builder, "cache_entries", "gauge", "Responses in the cache.", cache.getEntries());
+            appendMetric(builder, "cache_bytes", "gauge", "Memory used by the cached responses.", cache.getMemory());
+            appendMetric(builder, "cache_hits_total", "counter", "Requests answered from the cache.", cache.getHits());
+            appendMetric(builder, "cache_misses_total", "counter", "Requests whose response was computed.",
+                cache.getMisses());
+            appendMetric(builder, "cache_evictions_total", "counter", "Responses removed from the cache.",
+                cache.getEvictions());
+        }
+
+        appendMetric(builder, "tls_handshakes_total", "counter", "TLS handshakes finished successfully.",
+            snapshot.getHandshakes());
+        appendMetric(builder, "tls_handshakes_resumed_total", "counter",
+            "TLS handshakes which resumed a previous session.", snapshot.getResumedHandshakes());
+        appendMetric(builder, "tls_handshake_failures_total", "counter", "TLS handshakes which failed.",
+            snapshot.getHandshakeFailures());
+        appendSummary(builder, "tls_handshake_seconds", "TLS handshake time.", snapshot.getHandshakeLatency());
+
+        appendSummary(builder, "latency_seconds", "Latency from request to response.", snapshot.getLatency());
+
+        return builder.toString();
+    }
+
+    /**
+     * Appends the help and type lines for a metric.
+     *
+     * @param builder
+     *            builder where the text is added
+     * @param name
+     *            metric name
+     * @param type
+     *            metric type
+     * @param help
+     *            metric description
+     */
+    private final void appendHeader(final StringBuilder builder, final String name, final String type,
+            final String help) {
+        builder.append("# HELP ")
+            .append(PREFIX)
+            .append(name)
+            .append(' ')
+            .append(help)
+            .append('\n');
+        builder.append("# TYPE ")
+            .append(PREFIX)
+            .append(name)
+            .append(' ')
+            .append(type)
+            .append('\n');
+    }
+
+    /**
+     * Appends a metric with a single value.
+     *
+     * @param builder
+     *            builder where the text is added
+     * @param name
+     *            metric name
+     * @param type
+     *            metric type
+     * @param help
+     *            metric description
+     * @param value
+     *            metric value
+     */
+    private final void appendMetric(final StringBuilder builder, final String name, final String type,
+            final String help, final long value) {
+        appendHeader(builder, name, type, help);
+        builder.append(PREFIX)
+            .append(name)
+            .append(' ')
+            .append(value)
+            .append('\n');
+    }
+
+    /**
+     * Appends a summary quantile.
+     *
+     * @param builder
+     *            builder where the text is added
+     * @param name
+     *            metric name
+     * @param quantile
+     *            quantile label
+     * @param nanos
+     *            value in nanoseconds
+     */
+    private final void appendQuantile(final StringBuilder builder, final String name, final String quantile,
+            final long nanos) {
+        builder.append(PREFIX)
+            .append(name)
+            .append("{quantile=\"")
+            .append(quantile)
+            .append("\"} ")
+            .append(nanos / NANOS_TO_SECONDS)
+            .append('\n');
+    }
+
+    /**
+     * Appends a summary, with its quantiles, sum and count.
+     *
+     * @param builder
+     *            builder where the text is added
+     * @param name
+     *            metric name
+     * @param help
+     *            metric description
+     * @param latency
+     *            values for the summary, in nanoseconds
+     */
+    private final void appendSummary(final StringBuilder builder, final String name, final String help,
+            final LatencySnapshot latency) {
+        appendHeader(builder, name, "summary", help);
+        appendQuantile(builder, name, "0.5", latency.getP50());
+        appendQuantile(builder, name, "0.9", latency.getP90());
+        appendQuantile(builder, name, "0.99", latency.getP99());
+        appendQuantile(builder, name, "0.999", latency.getP999());
+        appendQuantile(builder, name, "1", latency.getMax());
+        builder.append(PREFIX)
+            .append(name)
+            .append("_sum ")
+            .append(latency.getSum() / NANOS_TO_SECONDS)
+            .append('\n');
+        builder.append(PREFIX)
+            .append(name)
+            .append("_count ")
+            .append(latency.getCount())
+            .append('\n');
+    }
+
+}
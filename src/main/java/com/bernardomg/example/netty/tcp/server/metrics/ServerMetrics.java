@@ -0,0 +1,397 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.metrics;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.ByteBufAllocatorMetric;
+import io.netty.buffer.ByteBufAllocatorMetricProvider;
+import io.netty.buffer.PoolArenaMetric;
+import io.netty.buffer.PooledByteBufAllocatorMetric;
+
+/**
+ * Server metrics. Counters are striped, so the I/O threads can update them without contention.
+ * <p>
+ * Allocator and response cache metrics are read from their sources when taking a snapshot.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class ServerMetrics {
+
+    /**
+     * Connections currently open.
+     */
+    private final LongAdder        activeConnections = new LongAdder();
+
+    /**
+     * Buffer allocator used by the server.
+     */
+    private final ByteBufAllocator allocator;
+
+    /**
+     * Bytes received.
+     */
+    private final LongAdder        bytesIn = new LongAdder();
+
+    /**
+     * Bytes sent.
+     */
+    private final LongAdder        bytesOut = new LongAdder();
+
+    /**
+     * Response cache metrics. Null if there is no cache.
+     */
+    private final CacheMetrics     cache;
+
+    /**
+     * Bytes dropped for going over the rate limits.
+     */
+    private final LongAdder        droppedBytes = new LongAdder();
+
+    /**
+     * Messages dropped for going over the rate limits.
+     */
+    private final LongAdder        droppedMessages = new LongAdder();
+
+    /**
+     * TLS handshakes which failed.
+     */
+    private final LongAdder        handshakeFailures = new LongAdder();
+
+    /**
+     * TLS handshake time, from the connection to the end of the handshake.
+     */
+    private final LatencyHistogram handshakeLatency = new LatencyHistogram();
+
+    /**
+     * TLS handshakes finished successfully.
+     */
+    private final LongAdder        handshakes = new LongAdder();
+
+    /**
+     * Connections closed for being idle.
+     */
+    private final LongAdder        idleClosures = new LongAdder();
+
+    /**
+     * Latency from receiving a request to sending its response.
+     */
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * Bytes written and not yet sent.
+     */
+    private final LongAdder        pendingBytes = new LongAdder();
+
+    /**
+     * Times connections paused reading for going over the rate limits.
+     */
+    private final LongAdder        rateLimitPauses = new LongAdder();
+
+    /**
+     * Connections rejected for being over the limit.
+     */
+    private final LongAdder        rejectedConnections = new LongAdder();
+
+    /**
+     * Requests received.
+     */
+    private final LongAdder        requests = new LongAdder();
+
+    /**
+     * TLS handshakes which resumed a previous session.
+     */
+    private final LongAdder        resumedHandshakes = new LongAdder();
+
+    /**
+     * Responses sent.
+     */
+    private final LongAdder        responses = new LongAdder();
+
+    /**
+     * Connections currently throttled, not reading until their pending bytes are sent.
+     */
+    private final LongAdder        throttledConnections = new LongAdder();
+
+    /**
+     * Connections opened.
+     */
+    private final LongAdder        totalConnections = new LongAdder();
+
+    /**
+     * Constructs metrics for a server using the given allocator.
+     *
+     * @param alloc
+     *            buffer allocator used by the server
+     */
+    public ServerMetrics(final ByteBufAllocator alloc) {
+        this(alloc, null);
+    }
+
+    /**
+     * Constructs metrics for a server using the given allocator and response cache.
+     *
+     * @param alloc
+     *            buffer allocator used by the server
+     * @param cch
+     *            response cache metrics, may be {@code null}
+     */
+    public ServerMetrics(final ByteBufAllocator alloc, final CacheMetrics cch) {
+        super();
+
+        allocator = Objects.requireNonNull(alloc);
+        cache = cch;
+    }
+
+    /**
+     * Records bytes received.
+     *
+     * @param bytes
+     *            number of bytes received
+     */
+    public final void onBytesIn(final long bytes) {
+        bytesIn.add(bytes);
+    }
+
+    /**
+     * Records bytes sent.
+     *
+     * @param bytes
+     *            number of bytes sent
+     */
+    public final void onBytesOut(final long bytes) {
+        bytesOut.add(bytes);
+    }
+
+    /**
+     * Records a connection being opened.
+     */
+    public final void onConnect() {
+        totalConnections.increment();
+        activeConnections.increment();
+    }
+
+    /**
+     * Records a connection being closed.
+     */
+    public final void onDisconnect() {
+        activeConnections.decrement();
+    }
+
+    /**
+     * Records a successful TLS handshake.
+     *
+     * @param nanos
+     *            handshake time, in nanoseconds
+     * @param resumed
+     *            if the handshake resumed a previous session
+     */
+    public final void onHandshake(final long nanos, final boolean resumed) {
+        handshakes.increment();
+        if (resumed) {
+            resumedHandshakes.increment();
+        }
+        handshakeLatency.record(nanos);
+    }
+
+    /**
+     * Records a failed TLS handshake.
+     */
+    public final void onHandshakeFailure() {
+        handshakeFailures.increment();
+    }
+
+    /**
+     * Records a connection being closed for being idle.
+     */
+    public final void onIdleClose() {
+        idleClosures.increment();
+    }
+
+    /**
+     * Records the latency between a request and its response.
+     *
+     * @param nanos
+     *            latency in nanoseconds
+     */
+    public final void onLatency(final long nanos) {
+        latency.record(nanos);
+    }
+
+    /**
+     * Records a change in the bytes written and not yet sent.
+     *
+     * @param bytes
+     *            change in the pending bytes, negative when they are sent or discarded
+     */
+    public final void onPendingBytes(final long bytes) {
+        pendingBytes.add(bytes);
+    }
+
+    /**
+     * Records a message dropped for going over the rate limits.
+     *
+     * @param bytes
+     *            size of the dropped message
+     */
+    public final void onRateLimitDrop(final long bytes) {
+        droppedMessages.increment();
+        droppedBytes.add(bytes);
+    }
+
+    /**
+     * Records a connection pausing reading for going over the rate limits.
+     */
+    public final void onRateLimitPause() {
+        rateLimitPauses.increment();
+    }
+
+    /**
+     * Records a connection being rejected for being over the limit.
+     */
+    public final void onReject() {
+        rejectedConnections.increment();
+    }
+
+    /**
+     * Records a request being received.
+     */
+    public final void onRequest() {
+        requests.increment();
+    }
+
+    /**
+     * Records a response being sent.
+     */
+    public final void onResponse() {
+        responses.increment();
+    }
+
+    /**
+     * Records a connection being throttled.
+     */
+    public final void onThrottle() {
+        throttledConnections.increment();
+    }
+
+    /**
+     * Records a connection no longer being throttled.
+     */
+    public final void onUnthrottle() {
+        throttledConnections.decrement();
+    }
+
+    /**
+     * Returns the current values.
+     *
+     * @return a snapshot of the metrics
+     */
+    public final MetricsSnapshot snapshot() {
+        return MetricsSnapshot.builder()
+            .timestamp(System.nanoTime())
+            .activeConnections(activeConnections.sum())
+            .totalConnections(totalConnections.sum())
+            .throttledConnections(throttledConnections.sum())
+            .rejectedConnections(rejectedConnections.sum())
+            .idleClosures(idleClosures.sum())
+            .rateLimitPauses(rateLimitPauses.sum())
+            .droppedMessages(droppedMessages.sum())
+            .droppedBytes(droppedBytes.sum())
+            .bytesIn(bytesIn.sum())
+            .bytesOut(bytesOut.sum())
+            .pendingBytes(pendingBytes.sum())
+            .requests(requests.sum())
+            .responses(responses.sum())
+            .latency(latency.snapshot())
+            .handshakes(handshakes.sum())
+            .resumedHandshakes(resumedHandshakes.sum())
+            .handshakeFailures(handshakeFailures.sum())
+            .handshakeLatency(handshakeLatency.snapshot())
+            .allocator(snapshotAllocator())
+            .cache(snapshotCache())
+            .build();
+    }
+
+    /**
+     * Returns the current allocator values. Only the pooled allocator has pool values.
+     *
+     * @return a snapshot of the allocator metrics
+     */
+    private final AllocatorSnapshot snapshotAllocator() {
+        final AllocatorSnapshot.AllocatorSnapshotBuilder builder;
+        final ByteBufAllocatorMetric                     metric;
+        final PooledByteBufAllocatorMetric               pooled;
+        long                                             arenaAllocations;
+
+        builder = AllocatorSnapshot.builder();
+        if (allocator instanceof ByteBufAllocatorMetricProvider) {
+            metric = ((ByteBufAllocatorMetricProvider) allocator).metric();
+            builder.usedDirectMemory(metric.usedDirectMemory())
+                .usedHeapMemory(metric.usedHeapMemory());
+
+            if (metric instanceof PooledByteBufAllocatorMetric) {
+                pooled = (PooledByteBufAllocatorMetric) metric;
+
+                arenaAllocations = 0;
+                for (final PoolArenaMetric arena : pooled.directArenas()) {
+                    arenaAllocations += arena.numAllocations();
+                }
+                for (final PoolArenaMetric arena : pooled.heapArenas()) {
+                    arenaAllocations += arena.numAllocations();
+                }
+
+                builder.pooled(true)
+                    .directArenas(pooled.numDirectArenas())
+                    .heapArenas(pooled.numHeapArenas())
+                    .threadLocalCaches(pooled.numThreadLocalCaches())
+                    .chunkSize(pooled.chunkSize())
+                    .arenaAllocations(arenaAllocations);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Returns the response cache metrics, or {@code null} if there is no cache.
+     *
+     * @return the response cache metrics
+     */
+    private final CacheSnapshot snapshotCache() {
+        final CacheSnapshot result;
+
+        if (cache == null) {
+            result = null;
+        } else {
+            result = cache.snapshot();
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,93 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.metrics;
+
+import java.util.Objects;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+
+/**
+ * Records the bytes read and written by the channel, both into the server and the connection metrics. Should be at the
+ * start of the pipeline, to count the bytes as they are in the socket.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class TrafficMetricsHandler extends ChannelDuplexHandler {
+
+    /**
+     * Connection metrics where the traffic is recorded.
+     */
+    private final ConnectionMetrics connection;
+
+    /**
+     * Server metrics where the traffic is recorded.
+     */
+    private final ServerMetrics     metrics;
+
+    /**
+     * Constructs a handler recording into the received metrics.
+     *
+     * @param mtrcs
+     *            server metrics where the traffic is recorded
+     * @param conn
+     *            connection metrics where the traffic is recorded
+     */
+    public TrafficMetricsHandler(final ServerMetrics mtrcs, final ConnectionMetrics conn) {
+        super();
+
+        metrics = Objects.requireNonNull(mtrcs);
+        connection = Objects.requireNonNull(conn);
+    }
+
+    @Override
+    public final void channelRead(final ChannelHandlerContext ctx, final Object msg) throws Exception {
+        final int bytes;
+
+        if (msg instanceof ByteBuf) {
+            bytes = ((ByteBuf) msg).readableBytes();
+            metrics.onBytesIn(bytes);
+            connection.onBytesIn(bytes);
+        }
+        ctx.fireChannelRead(msg);
+    }
+
+    @Override
+    public final void write(final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise)
+            throws Exception {
+        final int bytes;
+
+        if (msg instanceof ByteBuf) {
+            bytes = ((ByteBuf) msg).readableBytes();
+            metrics.onBytesOut(bytes);
+            connection.onBytesOut(bytes);
+        }
+        ctx.write(msg, promise);
+    }
+
+}
@@ -0,0 +1,187 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.routing;
+
+import java.util.Arrays;
+
+/**
+ * Trie of prefixes, for finding the longest prefix of a text in a single pass over it.
+ * <p>
+ * Children are kept in sorted arrays, and found with a binary search, so lookups don't allocate.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ * @param <V>
+ *            type of the values
+ */
+final class PrefixTrie<V> {
+
+    /**
+     * Root node, for the empty prefix.
+     */
+    private final Node<V> root = new Node<>();
+
+    /**
+     * Default constructor.
+     */
+    public PrefixTrie() {
+        super();
+    }
+
+    /**
+     * Returns the value for the longest prefix of the text, or {@code null} if no prefix matches.
+     *
+     * @param text
+     *            text to search
+     * @return the value for the longest prefix
+     */
+    public final V longestPrefix(final CharSequence text) {
+        Node<V> node;
+        V       value;
+        int     index;
+
+        node = root;
+        value = root.value;
+        index = 0;
+        while ((node != null) && (index < text.length())) {
+            node = node.child(text.charAt(index));
+            if ((node != null) && (node.value != null)) {
+                value = node.value;
+            }
+            index++;
+        }
+
+        return value;
+    }
+
+    /**
+     * Stores the value for the prefix. If the prefix already has a value, it is kept.
+     *
+     * @param prefix
+     *            prefix to store
+     * @param value
+     *            value for the prefix
+     */
+    public final void put(final String prefix, final V value) {
+        Node<V> node;
+
+        node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            node = node.childOrCreate(prefix.charAt(i));
+        }
+        if (node.value == null) {
+            node.value = value;
+        }
+    }
+
+    /**
+     * Trie node.
+     *
+     * @param <V>
+     *            type of the value
+     */
+    private static final class Node<V> {
+
+        /**
+         * Child nodes, in the same order as their keys.
+         */
+        private Node<V>[] children;
+
+        /**
+         * Keys of the child nodes, sorted.
+         */
+        private char[]    keys = new char[0];
+
+        /**
+         * Value for the prefix ending in this node. Null if no prefix ends here.
+         */
+        private V         value;
+
+        /**
+         * Constructs an empty node.
+         */
+        @SuppressWarnings("unchecked")
+        private Node() {
+            super();
+
+            children = new Node[0];
+        }
+
+        /**
+         * Returns the child for the key, or {@code null} if there is none.
+         *
+         * @param key
+         *            key of the child
+         * @return the child for the key
+         */
+        private final Node<V> child(final char key) {
+            final int     index;
+            final Node<V> child;
+
+            index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                child = children[index];
+            } else {
+                child = null;
+            }
+
+            return child;
+        }
+
+        /**
+         * Returns the child for the key, creating it if there is none.
+         *
+         * @param key
+         *            key of the child
+         * @return the child for the key
+         */
+        private final Node<V> childOrCreate(final char key) {
+            final int     index;
+            final int     insertion;
+            final Node<V> child;
+
+            index = Arrays.binarySearch(keys, key);
+            if (index >= 0) {
+                child = children[index];
+            } else {
+                // Inserts the child keeping the keys sorted
+                insertion = -(index + 1);
+                child = new Node<>();
+
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                System.arraycopy(keys, insertion, keys, insertion + 1, keys.length - insertion - 1);
+                keys[insertion] = key;
+
+                children = Arrays.copyOf(children, children.length + 1);
+                System.arraycopy(children, insertion, children, insertion + 1, children.length - insertion - 1);
+                children[insertion] = child;
+            }
+
+            return child;
+        }
+
+    }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.routing;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+
+import com.bernardomg.example.netty.tcp.server.IoHandler;
+import com.bernardomg.example.netty.tcp.server.TransactionListener;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.NettyInbound;
+import reactor.netty.NettyOutbound;
+
+/**
+ * I/O handler which sends all messages to the listener, and answers back with the response chosen by a routing table.
+ * Requests without a response are not answered.
+ * <p>
+ * The table is taken from a supplier for each request, so it can be replaced while running.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class RoutingIoHandler implements IoHandler {
+
+    /**
+     * Transaction listener. Reacts to events during the request.
+     */
+    private final TransactionListener    listener;
+
+    /**
+     * Supplies the routing table, choosing the response for each request.
+     */
+    private final Supplier<RoutingTable> table;
+
+    /**
+     * Constructs a handler routing with the given table.
+     *
+     * @param tbl
+     *            routing table
+     * @param lst
+     *            transaction listener
+     */
+    public RoutingIoHandler(final RoutingTable tbl, final TransactionListener lst) {
+        this(() -> tbl, lst);
+    }
+
+    /**
+     * Constructs a handler routing with the table given by the supplier, which is read for each request.
+     *
+     * @param tbl
+     *            supplier for the current routing table
+     * @param lst
+     *            transaction listener
+     */
+    public RoutingIoHandler(final Supplier<RoutingTable> tbl, final TransactionListener lst) {
+        super();
+
+        table = Objects.requireNonNull(tbl);
+        listener = Objects.requireNonNull(lst);
+    }
+
+    @Override
+    public final Publisher<Void> handle(final NettyInbound request, final NettyOutbound response) {
+        final Publisher<String> dataStream;
+
+        dataStream = request.receive()
+            .asString()
+            // Log request
+            .doOnNext(next -> {
+                // Receive request
+                log.debug("Received request: {}", next);
+
+                // Sends the request to the listener
+                listener.onRequest(next);
+            })
+            // Route request, skipping those without a response
+            .mapNotNull(next -> table.get()
+                .route(next))
+            .doOnNext(listener::onResponse);
+
+        return response.sendString(dataStream)
+            .then();
+    }
+
+}
@@ -0,0 +1,142 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.routing;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Reads routing rules from a text file.
+ * <p>
+ * Each line holds a rule, with the type, pattern and response separated by tabs:
+ * <p>
+ * {@code exact<TAB>hello<TAB>world}
+ * <p>
+ * Empty lines, and lines starting with {@code #}, are ignored.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class RoutingRulesReader {
+
+    /**
+     * Prefix for comment lines.
+     */
+    private static final String COMMENT   = "#";
+
+    /**
+     * Column separator.
+     */
+    private static final String SEPARATOR = "\t";
+
+    /**
+     * Path to the rules file.
+     */
+    private final Path          path;
+
+    /**
+     * Constructs a reader for the file.
+     *
+     * @param pth
+     *            path to the rules file
+     */
+    public RoutingRulesReader(final Path pth) {
+        super();
+
+        path = Objects.requireNonNull(pth);
+    }
+
+    /**
+     * Reads all the rules in the file, in order.
+     *
+     * @return the rules in the file
+     */
+    public final List<RoutingRule> read() {
+        final List<RoutingRule> rules;
+        String                  line;
+        int                     number;
+
+        rules = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            number = 0;
+            line = reader.readLine();
+            while (line != null) {
+                number++;
+                if (!line.isBlank() && !line.startsWith(COMMENT)) {
+                    rules.add(parse(line, number));
+                }
+                line = reader.readLine();
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return rules;
+    }
+
+    /**
+     * Parses a single rule.
+     *
+     * @param line
+     *            line to parse
+     * @param number
+     *            line number, for error messages
+     * @return the rule in the line
+     */
+    private final RoutingRule parse(final String line, final int number) {
+        final String[] columns;
+        final RuleType type;
+
+        columns = line.split(SEPARATOR, 3);
+        if (columns.length != 3) {
+            throw new IllegalArgumentException(
+                String.format("Line %d of %s should have a type, a pattern and a response, separated by tabs", number,
+                    path));
+        }
+
+        try {
+            type = RuleType.valueOf(columns[0].trim()
+                .toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            throw new IllegalArgumentException(
+                String.format("Line %d of %s has an invalid rule type, received %s", number, path, columns[0]), e);
+        }
+
+        return RoutingRule.builder()
+            .type(type)
+            .pattern(columns[1])
+            .response(columns[2])
+            .build();
+    }
+
+}
@@ -0,0 +1,158 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.routing;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Routing table. Compiles the routing rules into lookup structures, so a request is routed in a single pass over it,
+ * no matter how many rules there are.
+ * <p>
+ * Rules are applied in this order:
+ * <ul>
+ * <li>Exact rules, through a hash map</li>
+ * <li>Prefix rules, through a trie, taking the longest prefix</li>
+ * <li>Regular expressions, tried one after another in the file order, only when nothing else matched</li>
+ * </ul>
+ * If no rule matches, the default response is used. This may be {@code null}, in which case the request is not
+ * answered.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class RoutingTable {
+
+    /**
+     * Response for the requests not matching any rule. May be {@code null}.
+     */
+    private final String                           defaultResponse;
+
+    /**
+     * Responses for the exact rules.
+     */
+    private final Map<String, String>              exact;
+
+    /**
+     * Responses for the prefix rules.
+     */
+    private final PrefixTrie<String>               prefixes;
+
+    /**
+     * Regular expressions, and their responses, in order.
+     */
+    private final List<Map.Entry<Pattern, String>> regexes;
+
+    /**
+     * Compiles the rules.
+     *
+     * @param rules
+     *            rules to compile
+     * @param dflt
+     *            response for the requests not matching any rule, may be {@code null}
+     */
+    public RoutingTable(final List<RoutingRule> rules, final String dflt) {
+        super();
+
+        defaultResponse = dflt;
+
+        exact = new HashMap<>();
+        prefixes = new PrefixTrie<>();
+        regexes = new ArrayList<>();
+        // On repeated patterns the first rule wins
+        for (final RoutingRule rule : Objects.requireNonNull(rules)) {
+            switch (rule.getType()) {
+                case EXACT:
+                    exact.putIfAbsent(rule.getPattern(), rule.getResponse());
+                    break;
+                case PREFIX:
+                    prefixes.put(rule.getPattern(), rule.getResponse());
+                    break;
+                case REGEX:
+                    regexes.add(Map.entry(Pattern.compile(rule.getPattern()), rule.getResponse()));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported rule type " + rule.getType());
+            }
+        }
+
+        log.debug("Compiled {} exact rules and {} regular expressions", exact.size(), regexes.size());
+    }
+
+    /**
+     * Returns the response for the request, or {@code null} if there is none.
+     *
+     * @param request
+     *            request to route
+     * @return the response for the request
+     */
+    public final String route(final String request) {
+        String result;
+
+        result = exact.get(request);
+        if (result == null) {
+            result = prefixes.longestPrefix(request);
+        }
+        if (result == null) {
+            result = matchRegex(request);
+        }
+        if (result == null) {
+            result = defaultResponse;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the response for the first regular expression matching the request, or {@code null} if none matches.
+     *
+     * @param request
+     *            request to match
+     * @return the response for the first matching regular expression
+     */
+    private final String matchRegex(final String request) {
+        String result;
+
+        result = null;
+        for (final Map.Entry<Pattern, String> regex : regexes) {
+            if (regex.getKey()
+                .matcher(request)
+                .matches()) {
+                result = regex.getValue();
+                break;
+            }
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,131 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.tls;
+
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+import javax.net.ssl.SSLException;
+
+import io.netty.handler.ssl.OpenSsl;
+import io.netty.handler.ssl.OpenSslSessionContext;
+import io.netty.handler.ssl.SslContext;
+import io.netty.handler.ssl.SslContextBuilder;
+import io.netty.handler.ssl.SslProvider;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the server TLS context. The native OpenSSL provider is preferred, if netty-tcnative is in the classpath, as
+ * it is faster than the JDK one. Otherwise the JDK provider is used.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class TlsContextFactory {
+
+    /**
+     * JDK property enabling the server session tickets.
+     */
+    private static final String JDK_SESSION_TICKETS = "jdk.tls.server.enableSessionTicketExtension";
+
+    /**
+     * TLS options.
+     */
+    private final TlsOptions    options;
+
+    /**
+     * TLS provider.
+     */
+    private final SslProvider   provider;
+
+    /**
+     * Constructs a factory for the options.
+     *
+     * @param opts
+     *            TLS options
+     */
+    public TlsContextFactory(final TlsOptions opts) {
+        super();
+
+        options = Objects.requireNonNull(opts);
+
+        if (OpenSsl.isAvailable()) {
+            provider = SslProvider.OPENSSL;
+        } else {
+            provider = SslProvider.JDK;
+        }
+    }
+
+    /**
+     * Builds the TLS context.
+     * <p>
+     * With the JDK provider session tickets are a JVM wide property, so this changes them for the whole process.
+     *
+     * @return the TLS context
+     */
+    public final SslContext build() {
+        final SslContext context;
+
+        log.debug("Building TLS context with provider {}", provider);
+
+        if (provider == SslProvider.JDK) {
+            // Read when the JDK creates its TLS context
+            System.setProperty(JDK_SESSION_TICKETS, String.valueOf(options.isSessionTickets()));
+        }
+
+        try {
+            context = SslContextBuilder.forServer(options.getCertificate()
+                .toFile(),
+                options.getPrivateKey()
+                    .toFile(),
+                options.getKeyPassword())
+                .sslProvider(provider)
+                .sessionCacheSize(options.getSessionCacheSize())
+                .sessionTimeout(options.getSessionTimeout()
+                    .toSeconds())
+                .build();
+        } catch (final SSLException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (options.isSessionTickets() && (context.sessionContext() instanceof OpenSslSessionContext)) {
+            // Without keys OpenSSL disables tickets, with no arguments it generates and rotates them
+            ((OpenSslSessionContext) context.sessionContext()).setTicketKeys();
+        }
+
+        return context;
+    }
+
+    /**
+     * Returns the TLS provider used by the context.
+     *
+     * @return the TLS provider
+     */
+    public final SslProvider getProvider() {
+        return provider;
+    }
+
+}
@@ -0,0 +1,82 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.tls;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * TLS options. Sizes and times which are not set are left to the TLS provider default.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Value
+@Builder
+public final class TlsOptions {
+
+    /**
+     * Certificate chain file, in PEM format.
+     */
+    private final Path     certificate;
+
+    /**
+     * Maximum time for the handshake, before closing the connection.
+     */
+    @Builder.Default
+    private final Duration handshakeTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Password for the private key. Null if the key is not encrypted.
+     */
+    private final String   keyPassword;
+
+    /**
+     * Private key file, in PKCS#8 PEM format.
+     */
+    private final Path     privateKey;
+
+    /**
+     * Maximum number of sessions kept for resumption. If zero, the provider default is used.
+     */
+    @Builder.Default
+    private final long     sessionCacheSize = 0;
+
+    /**
+     * Session tickets flag. Allows clients to resume sessions the server no longer keeps.
+     */
+    @Builder.Default
+    private final boolean  sessionTickets = true;
+
+    /**
+     * Time a session can be resumed. If zero, the provider default is used.
+     */
+    @Builder.Default
+    private final Duration sessionTimeout = Duration.ZERO;
+
+}
@@ -0,0 +1,94 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.transform;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.CompositeByteBuf;
+
+/**
+ * Appends the CRC32 checksum of each message to it, as eight hexadecimal characters.
+ * <p>
+ * The message is not copied. The checksum is read straight from its memory, and the response is a composite buffer
+ * joining the message with the checksum.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class ChecksumTransform implements StreamTransform {
+
+    /**
+     * Length of the checksum, once written.
+     */
+    private static final int CHECKSUM_LENGTH = 8;
+
+    /**
+     * Checksum calculator. Reused for all the messages.
+     */
+    private final CRC32      checksum = new CRC32();
+
+    /**
+     * Default constructor.
+     */
+    public ChecksumTransform() {
+        super();
+    }
+
+    @Override
+    public final ByteBuf apply(final ByteBuf message) {
+        final ByteBuf          suffix;
+        final CompositeByteBuf output;
+
+        checksum.reset();
+        try {
+            for (final ByteBuffer chunk : message.nioBuffers()) {
+                checksum.update(chunk);
+            }
+        } catch (final RuntimeException e) {
+            message.release();
+            throw e;
+        }
+
+        suffix = message.alloc()
+            .buffer(CHECKSUM_LENGTH);
+        ByteBufUtil.writeAscii(suffix, String.format("%08x", checksum.getValue()));
+
+        // Takes ownership of both buffers
+        output = message.alloc()
+            .compositeBuffer(2);
+        output.addComponents(true, message, suffix);
+
+        return output;
+    }
+
+    @Override
+    public final void close() {
+        // Nothing to release
+    }
+
+}
@@ -0,0 +1,118 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.transform;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Compresses the messages into a single zlib stream for the whole connection.
+ * <p>
+ * After each message the stream is flushed, so the client can inflate all the data received until then. The
+ * compressor keeps a fixed size window, so the memory used doesn't grow with the stream. The output should not be
+ * framed by lines, as it is binary.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class DeflateTransform implements StreamTransform {
+
+    /**
+     * Minimum free space in the output buffer before each compression step.
+     */
+    private static final int STEP_SPACE = 256;
+
+    /**
+     * Compressor for the stream.
+     */
+    private final Deflater   deflater;
+
+    /**
+     * Constructs a transform with the default compression level.
+     */
+    public DeflateTransform() {
+        super();
+
+        deflater = new Deflater();
+    }
+
+    @Override
+    public final ByteBuf apply(final ByteBuf message) {
+        final ByteBuf output;
+        boolean       filled;
+
+        // Compression rarely grows the data, so this is usually enough space
+        output = message.alloc()
+            .buffer(message.readableBytes() + STEP_SPACE);
+        try {
+            for (final ByteBuffer chunk : message.nioBuffers()) {
+                deflater.setInput(chunk);
+                while (!deflater.needsInput()) {
+                    deflate(output, Deflater.NO_FLUSH);
+                }
+            }
+            // Filling the output means there may be more to flush
+            do {
+                filled = deflate(output, Deflater.SYNC_FLUSH);
+            } while (filled);
+        } catch (final RuntimeException e) {
+            output.release();
+            throw e;
+        } finally {
+            message.release();
+        }
+
+        return output;
+    }
+
+    @Override
+    public final void close() {
+        deflater.end();
+    }
+
+    /**
+     * Compresses into the output buffer, making sure there is free space for it.
+     *
+     * @param output
+     *            buffer where the compressed data is written
+     * @param flush
+     *            flush mode
+     * @return {@code true} if the output space was filled, {@code false} otherwise
+     */
+    private final boolean deflate(final ByteBuf output, final int flush) {
+        final ByteBuffer target;
+        final int        written;
+
+        output.ensureWritable(STEP_SPACE);
+        target = output.nioBuffer(output.writerIndex(), output.writableBytes());
+        written = deflater.deflate(target, flush);
+        output.writerIndex(output.writerIndex() + written);
+
+        return written == target.capacity();
+    }
+
+}
@@ -0,0 +1,54 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.transform;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Transforms the messages received through a connection, one at a time, as they arrive. Each connection gets its own
+ * instance, so it may keep state between messages, and it is only used by one thread at a time.
+ * <p>
+ * Messages are never assembled, so the memory used depends on the message size, and not on the whole stream.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public interface StreamTransform {
+
+    /**
+     * Transforms the next message. Takes ownership of the message, and returns a buffer owned by the caller.
+     *
+     * @param message
+     *            message to transform
+     * @return the transformed message
+     */
+    public ByteBuf apply(final ByteBuf message);
+
+    /**
+     * Releases the resources kept by the transform. Called when the connection ends.
+     */
+    public void close();
+
+}
@@ -0,0 +1,177 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.transform;
+
+import java.nio.charset.Charset;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.reactivestreams.Publisher;
+
+import com.bernardomg.example.netty.tcp.server.BufferTransactionListener;
+import com.bernardomg.example.netty.tcp.server.IoHandler;
+
+import io.netty.buffer.ByteBuf;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.netty.NettyInbound;
+import reactor.netty.NettyOutbound;
+
+/**
+ * I/O handler which sends all messages to the listener, and writes them back transformed. Works over buffers, never
+ * decoding the requests.
+ * <p>
+ * Each connection gets its own transform, which receives the messages as they arrive, and is closed when the
+ * connection ends. Responses are streamed back with the usual backpressure, so large payloads go through without
+ * being assembled.
+ * <p>
+ * When the messages are offloaded to another scheduler, the transform may be closed from the event loop while a
+ * message is being transformed. So each transform is guarded, and closing waits for the message in progress. Messages
+ * arriving after closing are released without transforming them.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class TransformIoHandler implements IoHandler {
+
+    /**
+     * Transaction listener. Reacts to events during the request.
+     */
+    private final BufferTransactionListener listener;
+
+    /**
+     * Creates the transform for each connection.
+     */
+    private final Supplier<StreamTransform> transforms;
+
+    /**
+     * Constructs a handler which echoes the requests transformed.
+     *
+     * @param trnsfrms
+     *            creates the transform for each connection
+     * @param lst
+     *            transaction listener
+     */
+    public TransformIoHandler(final Supplier<StreamTransform> trnsfrms, final BufferTransactionListener lst) {
+        super();
+
+        transforms = Objects.requireNonNull(trnsfrms);
+        listener = Objects.requireNonNull(lst);
+    }
+
+    @Override
+    public final Publisher<Void> handle(final NettyInbound request, final NettyOutbound response) {
+        final Publisher<ByteBuf> dataStream;
+
+        dataStream = Flux.using(() -> new GuardedTransform(transforms.get()), transform -> request.receive()
+            // Kept after reading, as the transform takes ownership of it
+            .retain()
+            // Log request
+            .doOnNext(next -> {
+                // Receive request
+                if (log.isDebugEnabled()) {
+                    log.debug("Received request: {}", next.toString(Charset.defaultCharset()));
+                }
+
+                // Sends the request to the listener
+                listener.onRequest(next);
+            })
+            // Transform request
+            .<ByteBuf> handle((next, sink) -> {
+                final ByteBuf transformed;
+
+                transformed = transform.apply(next);
+                if (transformed != null) {
+                    sink.next(transformed);
+                }
+            })
+            .doOnNext(listener::onResponse), GuardedTransform::close);
+
+        return response.send(dataStream)
+            .then();
+    }
+
+    /**
+     * Transform which can be closed while transforming a message. Closing waits for the message in progress, and
+     * afterwards messages are released without transforming them.
+     */
+    private static final class GuardedTransform {
+
+        /**
+         * Closed flag.
+         */
+        private boolean               closed;
+
+        /**
+         * Guarded transform.
+         */
+        private final StreamTransform transform;
+
+        /**
+         * Constructs a guard for the transform.
+         *
+         * @param trnsfrm
+         *            transform to guard
+         */
+        private GuardedTransform(final StreamTransform trnsfrm) {
+            super();
+
+            transform = trnsfrm;
+        }
+
+        /**
+         * Transforms the message, unless closed. Takes ownership of the message.
+         *
+         * @param message
+         *            message to transform
+         * @return the transformed message, or {@code null} if closed
+         */
+        private final synchronized ByteBuf apply(final ByteBuf message) {
+            final ByteBuf result;
+
+            if (closed) {
+                message.release();
+                result = null;
+            } else {
+                result = transform.apply(message);
+            }
+
+            return result;
+        }
+
+        /**
+         * Closes the transform, once any message in progress is transformed.
+         */
+        private final synchronized void close() {
+            if (!closed) {
+                closed = true;
+                transform.close();
+            }
+        }
+
+    }
+
+}
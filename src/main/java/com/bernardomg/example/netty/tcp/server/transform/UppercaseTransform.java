@@ -0,0 +1,80 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.transform;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Transforms ASCII letters into upper case. Any other byte is kept, so UTF-8 text keeps its multibyte characters.
+ * <p>
+ * The message is copied into a new buffer before transforming it, as the received one may be shared, for example with
+ * the traffic capture.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class UppercaseTransform implements StreamTransform {
+
+    /**
+     * Distance from a lower case letter to its upper case.
+     */
+    private static final int CASE_OFFSET = 'a' - 'A';
+
+    /**
+     * Default constructor.
+     */
+    public UppercaseTransform() {
+        super();
+    }
+
+    @Override
+    public final ByteBuf apply(final ByteBuf message) {
+        final ByteBuf output;
+        byte          value;
+
+        try {
+            output = message.alloc()
+                .buffer(message.readableBytes())
+                .writeBytes(message);
+        } finally {
+            message.release();
+        }
+
+        for (int i = output.readerIndex(); i < output.writerIndex(); i++) {
+            value = output.getByte(i);
+            if ((value >= 'a') && (value <= 'z')) {
+                output.setByte(i, value - CASE_OFFSET);
+            }
+        }
+
+        return output;
+    }
+
+    @Override
+    public final void close() {
+        // Nothing to release
+    }
+
+}
@@ -0,0 +1,307 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2024 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.netty.tcp.server.transport;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ReflectiveChannelFactory;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.incubator.channel.uring.IOUring;
+import io.netty.incubator.channel.uring.IOUringEventLoopGroup;
+import io.netty.incubator.channel.uring.IOUringServerSocketChannel;
+import io.netty.incubator.channel.uring.IOUringSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.Future;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Loop resources for a chosen transport, with explicitly sized event loop groups.
+ * <p>
+ * The select group accepts connections, while the worker group handles their I/O. If no select threads are set, then
+ * connections are accepted in the worker group.
+ * <p>
+ * If the chosen native transport is not available then NIO is used instead. The transport actually used can be
+ * queried after creating the resources.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class TransportLoopResources implements LoopResources {
+
+    /**
+     * Event loop group accepting connections.
+     */
+    private final EventLoopGroup                       selectGroup;
+
+    /**
+     * Server channel class for the transport.
+     */
+    private final Class<? extends ServerSocketChannel> serverChannelClass;
+
+    /**
+     * Client channel class for the transport.
+     */
+    private final Class<? extends SocketChannel>       socketChannelClass;
+
+    /**
+     * Transport actually used.
+     */
+    private final Transport                            transport;
+
+    /**
+     * Event loop group handling the connections I/O.
+     */
+    private final EventLoopGroup                       workerGroup;
+
+    /**
+     * Constructs loop resources for the transport. Thread counts equal or below zero use the defaults.
+     *
+     * @param trnsp
+     *            transport to use
+     * @param selectThreads
+     *            number of threads accepting connections, zero to accept them in the worker threads
+     * @param workerThreads
+     *            number of threads handling I/O, zero for the Reactor Netty default
+     */
+    public TransportLoopResources(final Transport trnsp, final int selectThreads, final int workerThreads) {
+        super();
+
+        final int workers;
+
+        transport = resolve(Objects.requireNonNull(trnsp));
+
+        if (workerThreads > 0) {
+            workers = workerThreads;
+        } else {
+            workers = DEFAULT_IO_WORKER_COUNT;
+        }
+
+        switch (transport) {
+            case EPOLL:
+                serverChannelClass = EpollServerSocketChannel.class;
+                socketChannelClass = EpollSocketChannel.class;
+                break;
+            case IO_URING:
+                serverChannelClass = IOUringServerSocketChannel.class;
+                socketChannelClass = IOUringSocketChannel.class;
+                break;
+            default:
+                serverChannelClass = NioServerSocketChannel.class;
+                socketChannelClass = NioSocketChannel.class;
+        }
+
+        workerGroup = createGroup(workers, "tcp-server-worker");
+        if (selectThreads > 0) {
+            selectGroup = createGroup(selectThreads, "tcp-server-select");
+        } else {
+            selectGroup = workerGroup;
+        }
+
+        log.debug("Using {} transport with {} select threads and {} worker threads", transport,
+            Math.max(selectThreads, 0), workers);
+    }
+
+    @Override
+    public final boolean daemon() {
+        return true;
+    }
+
+    @Override
+    public final Mono<Void> disposeLater(final Duration quietPeriod, final Duration timeout) {
+        final Mono<Void> workers;
+
+        workers = shutdown(workerGroup, quietPeriod, timeout);
+        if (selectGroup == workerGroup) {
+            return workers;
+        }
+
+        return shutdown(selectGroup, quietPeriod, timeout).and(workers);
+    }
+
+    /**
+     * Returns the transport actually used. This may differ from the requested one, if it wasn't available.
+     *
+     * @return the transport used
+     */
+    public final Transport getTransport() {
+        return transport;
+    }
+
+    @Override
+    public final boolean isDisposed() {
+        return workerGroup.isShutdown() && selectGroup.isShutdown();
+    }
+
+    @Override
+    public final <CHANNEL extends Channel> CHANNEL onChannel(final Class<CHANNEL> channelType,
+            final EventLoopGroup group) {
+        return new ReflectiveChannelFactory<CHANNEL>(onChannelClass(channelType, group)).newChannel();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public final <CHANNEL extends Channel> Class<? extends CHANNEL> onChannelClass(final Class<CHANNEL> channelType,
+            final EventLoopGroup group) {
+        final Class<? extends Channel> channelClass;
+
+        if (ServerSocketChannel.class.equals(channelType)) {
+            channelClass = serverChannelClass;
+        } else if (SocketChannel.class.equals(channelType)) {
+            channelClass = socketChannelClass;
+        } else {
+            throw new IllegalArgumentException("Unsupported channel type " + channelType.getName());
+        }
+
+        return (Class<? extends CHANNEL>) channelClass;
+    }
+
+    @Override
+    public final EventLoopGroup onClient(final boolean useNative) {
+        return workerGroup;
+    }
+
+    @Override
+    public final EventLoopGroup onServer(final boolean useNative) {
+        return workerGroup;
+    }
+
+    @Override
+    public final EventLoopGroup onServerSelect(final boolean useNative) {
+        return selectGroup;
+    }
+
+    /**
+     * Creates an event loop group for the transport. Its threads are daemons.
+     *
+     * @param threads
+     *            number of threads
+     * @param name
+     *            prefix for the thread names
+     * @return an event loop group
+     */
+    private final EventLoopGroup createGroup(final int threads, final String name) {
+        final DefaultThreadFactory factory;
+        final EventLoopGroup        group;
+
+        factory = new DefaultThreadFactory(name, true);
+        switch (transport) {
+            case EPOLL:
+                group = new EpollEventLoopGroup(threads, factory);
+                break;
+            case IO_URING:
+                group = new IOUringEventLoopGroup(threads, factory);
+                break;
+            default:
+                group = new NioEventLoopGroup(threads, factory);
+        }
+
+        return group;
+    }
+
+    /**
+     * Returns the transport to use for the requested one. Native transports fall back to NIO when they are not
+     * available.
+     *
+     * @param requested
+     *            requested transport
+     * @return the transport to use
+     */
+    private final Transport resolve(final Transport requested) {
+        final Transport resolved;
+
+        switch (requested) {
+            case AUTO:
+                if (Epoll.isAvailable()) {
+                    resolved = Transport.EPOLL;
+                } else {
+                    resolved = Transport.NIO;
+                }
+                break;
+            case EPOLL:
+                if (Epoll.isAvailable()) {
+                    resolved = Transport.EPOLL;
+                } else {
+                    log.warn("Epoll is not available, falling back to NIO", Epoll.unavailabilityCause());
+                    resolved = Transport.NIO;
+                }
+                break;
+            case IO_URING:
+                if (IOUring.isAvailable()) {
+                    resolved = Transport.IO_URING;
+                } else {
+                    log.warn("io_uring is not available, falling back to NIO", IOUring.unavailabilityCause());
+                    resolved = Transport.NIO;
+                }
+                break;
+            default:
+                resolved = Transport.NIO;
+        }
+
+        return resolved;
+    }
+
+    /**
+     * Shuts down an event loop group.
+     *
+     * @param group
+     *            group to shut down
+     * @param quietPeriod
+     *            time without tasks before shutting down
+     * @param timeout
+     *            maximum time to wait for the shut down
+     * @return a publisher which completes when the group is terminated
+     */
+    private final Mono<Void> shutdown(final EventLoopGroup group, final Duration quietPeriod,
+            final Duration timeout) {
+        return Mono.defer(() -> {
+            final Future<?> termination;
+
+            termination = group.shutdownGracefully(quietPeriod.toMillis(), timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return Mono.<Void> create(sink -> termination.addListener(future -> {
+                if (future.isSuccess()) {
+                    sink.success();
+                } else {
+                    sink.error(future.cause());
+                }
+            }));
+        });
+    }
+
+}